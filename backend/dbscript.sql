@@ -43,6 +43,68 @@ CREATE TABLE `myplanner`.`status` (
 
   ALTER TABLE `myplanner`.`task` ADD COLUMN reminderSent BOOLEAN DEFAULT FALSE;
 
+  -- Due-reminder lookup used by the reminder scheduler
+  UPDATE `myplanner`.`task` SET reminderSent = FALSE WHERE reminderSent IS NULL AND isRemainder = TRUE;
+  CREATE INDEX idx_task_due_reminder ON `myplanner`.`task` (reminderSent, isRemainder, remainderTime);
+  CREATE INDEX idx_task_user_due_reminder ON `myplanner`.`task` (userId, reminderSent, isRemainder, remainderTime);
+
+  -- Delta sync: write position per task and soft-delete tombstones
+  ALTER TABLE `myplanner`.`task` ADD COLUMN changeVersion BIGINT NOT NULL DEFAULT 0;
+  ALTER TABLE `myplanner`.`task` ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+  CREATE INDEX idx_task_user_change ON `myplanner`.`task` (userId, changeVersion);
+
+  -- Cursor pagination of a user's live tasks
+  CREATE INDEX idx_task_user_live_start ON `myplanner`.`task` (userId, deleted, startTime, taskId);
+
+  -- Change counters behind the task and category listing ETags
+  ALTER TABLE `myplanner`.`user` ADD COLUMN taskVersion BIGINT NOT NULL DEFAULT 0;
+  ALTER TABLE `myplanner`.`user` ADD COLUMN categoryVersion BIGINT NOT NULL DEFAULT 0;
+
+  -- Optimistic lock version checked by task updates
+  ALTER TABLE `myplanner`.`task` ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+  -- Task counts per user, day and status behind /api/task/summary
+  CREATE TABLE `myplanner`.`task_day_summary` (
+     userId INT NOT NULL,
+     day DATE NOT NULL,
+     statusId TINYINT NOT NULL,
+     taskCount INT NOT NULL,
+     PRIMARY KEY (userId, day, statusId)
+  );
+  INSERT INTO `myplanner`.`task_day_summary` (userId, day, statusId, taskCount)
+     SELECT userId, DATE(COALESCE(startTime, endTime)), statusId, COUNT(*) FROM `myplanner`.`task`
+     WHERE deleted = FALSE AND COALESCE(startTime, endTime) IS NOT NULL
+     GROUP BY userId, DATE(COALESCE(startTime, endTime)), statusId;
+
+  -- Pooled task id allocation, so task inserts can be JDBC batched; starts past the existing ids
+  CREATE TABLE `myplanner`.`id_generator` (
+     name VARCHAR(30) NOT NULL,
+     nextValue BIGINT NOT NULL,
+     PRIMARY KEY (name)
+  );
+  INSERT INTO `myplanner`.`id_generator` (name, nextValue)
+     SELECT 'task', COALESCE(MAX(taskId), 0) + 101 FROM `myplanner`.`task`;
+
+  -- Notifications waiting to be delivered over WebSocket
+  CREATE TABLE `myplanner`.`notification_outbox` (
+     outboxId BIGINT NOT NULL AUTO_INCREMENT,
+     userId INT NOT NULL,
+     type VARCHAR(30) NOT NULL,
+     taskId INT,
+     topic VARCHAR(30),
+     message VARCHAR(150) NOT NULL,
+     createTime DATETIME NOT NULL,
+     dueTime DATETIME,
+     replayed BOOLEAN NOT NULL DEFAULT FALSE,
+     nodeId VARCHAR(64),
+     leaseOwner VARCHAR(64),
+     leaseExpiry DATETIME,
+     PRIMARY KEY (outboxId)
+  );
+  CREATE INDEX idx_outbox_node ON `myplanner`.`notification_outbox` (nodeId, outboxId);
+  CREATE INDEX idx_outbox_user ON `myplanner`.`notification_outbox` (userId);
+  CREATE INDEX idx_outbox_unrouted ON `myplanner`.`notification_outbox` (nodeId, createTime);
+
 -- Sample Data
 INSERT INTO `myplanner`.`status` (`statusId`, `statusName`) VALUES ('1', 'To Do');
 INSERT INTO `myplanner`.`status` (`statusId`, `statusName`) VALUES ('2', 'In Progress');
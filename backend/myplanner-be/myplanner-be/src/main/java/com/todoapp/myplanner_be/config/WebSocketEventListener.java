@@ -1,26 +1,38 @@
 package com.todoapp.myplanner_be.config;
 
-import com.todoapp.myplanner_be.dto.NotificationDTO;
-import com.todoapp.myplanner_be.entity.TaskEntity;
-import com.todoapp.myplanner_be.repository.TaskRepository;
+import com.todoapp.myplanner_be.service.NotificationRelayService;
+import com.todoapp.myplanner_be.service.PresenceService;
+import com.todoapp.myplanner_be.service.ReminderMetricsService;
+import com.todoapp.myplanner_be.service.ReminderSchedulerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Listens for STOMP subscribe events. When a client subscribes to their
- * notification queue, sends any pending (due but unsent) reminders immediately.
+ * Listens for STOMP subscribe and disconnect events. They keep
+ * PresenceService current, so reminders are only delivered to users who are
+ * online. When a client subscribes to their notification queue, routes the
+ * user's waiting outbox rows to this instance and queues any pending (due
+ * but unsent) reminders for immediate delivery through the notification
+ * outbox, which sends them to the user as one batched frame.
+ *
+ * The replay runs on a small worker pool rather than the inbound channel
+ * thread, and repeated subscribes from the same user are coalesced while a
+ * replay is waiting, so reconnect storms keep subscribes fast.
  */
 @Component
 public class WebSocketEventListener {
@@ -30,13 +42,36 @@ public class WebSocketEventListener {
             Pattern.compile("^/queue/user/(\\d+)/notifications$");
 
     @Autowired
-    private TaskRepository taskRepository;
+    private ReminderSchedulerService reminderSchedulerService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private ReminderMetricsService reminderMetricsService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private NotificationRelayService notificationRelayService;
+
+    private ThreadPoolTaskExecutor replayExecutor;
+    private final Set<Integer> replaysQueued = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void startReplayExecutor() {
+        replayExecutor = new ThreadPoolTaskExecutor();
+        replayExecutor.setCorePoolSize(2);
+        replayExecutor.setMaxPoolSize(2);
+        replayExecutor.setQueueCapacity(10000);
+        replayExecutor.setThreadNamePrefix("reminder-replay-");
+        replayExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void stopReplayExecutor() {
+        replayExecutor.shutdown();
+    }
 
     @EventListener
-    @Transactional
     public void handleSubscribeEvent(SessionSubscribeEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String destination = headerAccessor.getDestination();
@@ -48,39 +83,34 @@ public class WebSocketEventListener {
 
         Integer userId = Integer.parseInt(matcher.group(1));
         logger.info("User {} subscribed to notifications queue. Checking for pending reminders...", userId);
+        presenceService.sessionSubscribed(headerAccessor.getSessionId(), userId);
+
+        if (!replaysQueued.add(userId)) return;
+        try {
+            replayExecutor.execute(() -> replayPendingReminders(userId));
+        } catch (TaskRejectedException e) {
+            // The reminders stay pending until the user's next subscribe
+            replaysQueued.remove(userId);
+            logger.warn("Replay queue full, skipping pending reminders for user {}", userId);
+        }
+    }
+
+    @EventListener
+    public void handleDisconnectEvent(SessionDisconnectEvent event) {
+        presenceService.sessionClosed(event.getSessionId());
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-
-        // Find all due but unsent reminders for this user
-        List<TaskEntity> pendingTasks = taskRepository.findByUser_UserId(userId).stream()
-                .filter(task -> Boolean.TRUE.equals(task.getIsRemainder()))
-                .filter(task -> task.getRemainderTime() != null)
-                .filter(task -> task.getRemainderTime().isBefore(now) || task.getRemainderTime().isEqual(now))
-                .filter(task -> !Boolean.TRUE.equals(task.getReminderSent()))
-                .toList();
-
-        logger.info("Found {} pending reminders for user {}", pendingTasks.size(), userId);
-
-        for (TaskEntity task : pendingTasks) {
-            try {
-                NotificationDTO notification = new NotificationDTO(
-                        "TASK_REMINDER",
-                        task.getTaskId(),
-                        task.getTopic(),
-                        "Reminder: Your task \"" + task.getTopic() + "\" is coming up!",
-                        LocalDateTime.now());
-
-                messagingTemplate.convertAndSend(destination, notification);
-
-                logger.info("Sent pending reminder for task '{}' (id={}) to user {}",
-                        task.getTopic(), task.getTaskId(), userId);
-
-                task.setReminderSent(true);
-                taskRepository.save(task);
-            } catch (Exception e) {
-                logger.error("Failed to send pending reminder for task {}: {}",
-                        task.getTaskId(), e.getMessage(), e);
-            }
+    private void replayPendingReminders(Integer userId) {
+        replaysQueued.remove(userId);
+        try {
+            reminderMetricsService.timeReplay(() -> {
+                notificationRelayService.adoptUser(userId);
+                int queued = reminderSchedulerService.enqueueDueReminders(userId);
+                logger.info("Queued {} pending reminders for user {}", queued, userId);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to queue pending reminders for user {}: {}",
+                    userId, e.getMessage(), e);
         }
     }
 }
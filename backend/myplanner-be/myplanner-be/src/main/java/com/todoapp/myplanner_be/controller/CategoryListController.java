@@ -3,6 +3,7 @@ package com.todoapp.myplanner_be.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,6 +19,7 @@ import com.todoapp.myplanner_be.dto.categoryList.CreateDTO;
 import com.todoapp.myplanner_be.response.ApiResponse;
 import com.todoapp.myplanner_be.service.CategoryListService;
 import com.todoapp.myplanner_be.util.AuthUtil;
+import com.todoapp.myplanner_be.util.ETagUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -56,7 +58,7 @@ public class CategoryListController {
     
     @Operation(
         summary = "Get all categories",
-        description = "Retrieves all categories for the authenticated user. Requires valid JWT token."
+        description = "Retrieves all categories for the authenticated user, with an ETag; send it back in If-None-Match to get 304 Not Modified while the categories are unchanged. Requires valid JWT token."
     )
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/all")
@@ -67,12 +69,18 @@ public class CategoryListController {
                 .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
         }
         
+        // Answer unchanged polls from the version stamp alone, without querying categories
+        String etag = ETagUtil.etag("categories", userId, categoryListService.getCategoryVersion(userId));
+        if (ETagUtil.matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        
         List<CategoryResponseDTO> categories = categoryListService.getAllCategoriesByUser(userId);
         ApiResponse<List<CategoryResponseDTO>> response = ApiResponse.success(
             categories, 
             "Categories retrieved successfully"
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(response);
     }
     
     @Operation(
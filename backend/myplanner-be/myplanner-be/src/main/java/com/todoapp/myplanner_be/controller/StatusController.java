@@ -1,19 +1,23 @@
 package com.todoapp.myplanner_be.controller;
 
-import java.util.List;
+import java.time.Duration;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.todoapp.myplanner_be.dto.status.StatusDTO;
-import com.todoapp.myplanner_be.response.ApiResponse;
 import com.todoapp.myplanner_be.service.StatusService;
+import com.todoapp.myplanner_be.util.ETagUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @Tag(name = "Status Management", description = "APIs for managing task statuses (e.g., To Do, In Progress, Completed)")
 @RestController
@@ -23,17 +27,26 @@ public class StatusController {
     @Autowired
     private StatusService statusService;
     
+    @Value("${status.cache.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+    
     @Operation(
-        summary = "Get all task statuses"
+        summary = "Get all task statuses",
+        description = "Returns an ApiResponse with the list of task statuses, served from memory with an ETag; send it back in If-None-Match to get 304 Not Modified."
     )
-    @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<StatusDTO>>> getAllStatuses() {
-        List<StatusDTO> statuses = statusService.getAllStatuses();
-        ApiResponse<List<StatusDTO>> response = ApiResponse.success(
-            statuses, 
-            "Statuses retrieved successfully"
-        );
-        return ResponseEntity.ok(response);
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllStatuses(HttpServletRequest request) {
+        // Serialized once when the statuses are loaded
+        StatusService.SerializedStatuses statuses = statusService.getAllStatusesResponse();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        if (ETagUtil.matches(request, statuses.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(statuses.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(statuses.etag())
+            .cacheControl(cacheControl)
+            .body(statuses.body());
     }
     
     
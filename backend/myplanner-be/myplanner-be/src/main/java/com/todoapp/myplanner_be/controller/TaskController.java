@@ -1,14 +1,20 @@
 package com.todoapp.myplanner_be.controller;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -16,13 +22,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchOperationDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchResultDTO;
+import com.todoapp.myplanner_be.dto.task.TaskChangesDTO;
+import com.todoapp.myplanner_be.dto.task.TaskImportResultDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPageDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
 import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.dto.task.TaskSummaryDTO;
 import com.todoapp.myplanner_be.dto.task.UpdateTaskDTO;
 import com.todoapp.myplanner_be.response.ApiResponse;
+import com.todoapp.myplanner_be.service.TaskImportService;
+import com.todoapp.myplanner_be.service.TaskListingCache.VersionedPage;
 import com.todoapp.myplanner_be.service.TaskService;
+import com.todoapp.myplanner_be.service.TaskSummaryService;
 import com.todoapp.myplanner_be.util.AuthUtil;
+import com.todoapp.myplanner_be.util.ETagUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -38,6 +56,12 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+    
+    @Autowired
+    private TaskImportService taskImportService;
+    
     @Operation(
         summary = "Create a new task",
         description = "Creates a new task for the authenticated user. UserId and timestamps are set automatically. Requires valid JWT token."
@@ -80,6 +104,49 @@ public class TaskController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(
+        summary = "Create, update and delete tasks in one request",
+        description = "Applies a list of operations (op = create, update or delete) for the authenticated user in one transaction. Create and update take the task fields in task; update and delete take taskId. Each operation is checked on its own: rejected ones are reported with an error and skipped, the rest are applied in order. Returns one result per operation, in request order. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<TaskBatchResultDTO>>> applyBatch(
+            @RequestBody List<TaskBatchOperationDTO> operations,
+            HttpServletRequest request) {
+        
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
+        }
+        
+        List<TaskBatchResultDTO> results = taskService.applyBatch(userId, operations);
+        ApiResponse<List<TaskBatchResultDTO>> response = ApiResponse.success(results, "Task batch applied");
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(
+        summary = "Change some fields of a task",
+        description = "Updates only the fields present in the body; omitted fields keep their values, and null clears description, categoryId, startTime, endTime or remainderTime. Send the version from the last read to have the change rejected with 409 Conflict if the task changed since; a concurrent write also gets 409. Returns the updated task. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PatchMapping("/{taskId}")
+    public ResponseEntity<ApiResponse<TaskResponseDTO>> patchTask(
+            @PathVariable Integer taskId,
+            @Valid @RequestBody TaskPatchDTO taskPatchDTO,
+            HttpServletRequest request) {
+        
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
+        }
+        
+        TaskResponseDTO task = taskService.patchTask(taskId, taskPatchDTO, userId);
+        ApiResponse<TaskResponseDTO> response = ApiResponse.success(task, "Task updated successfully");
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(
         summary = "Delete a task",
         description = "Deletes a task for the authenticated user. Task must belong to the user. Requires valid JWT token."
@@ -103,13 +170,46 @@ public class TaskController {
     
     @Operation(
         summary = "Get tasks by date range",
-        description = "Fetches all tasks for the authenticated user, optionally filtered by date range. Returns tasks with category and status information. Requires valid JWT token."
+        description = "Fetches the authenticated user's tasks, optionally filtered by date range, one page at a time in start time order. By default (mode=contained) only tasks lying within the range are returned; mode=overlap returns every task whose time range overlaps it, and needs both dates (equal dates give the tasks active at that moment). Pass the returned nextCursor as cursor to fetch the next page; nextCursor is null on the last page. Returns tasks with category and status information, and an ETag; send it back in If-None-Match to get 304 Not Modified while the user's tasks are unchanged. Requires valid JWT token."
     )
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/get")
-    public ResponseEntity<ApiResponse<List<TaskResponseDTO>>> getTasks(
+    public ResponseEntity<ApiResponse<TaskPageDTO>> getTasks(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String mode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            HttpServletRequest request) {
+        
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
+        }
+        
+        // Answer unchanged polls from the version stamp alone, without querying tasks
+        Long version = taskService.getTaskVersion(userId);
+        String etag = ETagUtil.etag("tasks", userId, version);
+        if (ETagUtil.matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        
+        // The same version keys the listing cache; the ETag follows the page if it was read at a newer one
+        VersionedPage tasks = taskService.getTasksByDateRange(userId, version, startDate, endDate, mode, cursor, limit);
+        ApiResponse<TaskPageDTO> response = ApiResponse.success(tasks.page(), "Tasks fetched successfully");
+        return ResponseEntity.ok().eTag(ETagUtil.etag("tasks", userId, tasks.version()))
+            .cacheControl(CacheControl.noCache()).body(response);
+    }
+    
+    @Operation(
+        summary = "Get task changes since a sync token",
+        description = "Returns the authenticated user's tasks created or updated since the given sync token, plus the IDs of tasks deleted since then, and a new token. Omit since for the first sync. If hasMore is true, call again with the returned token. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<TaskChangesDTO>> getTaskChanges(
+            @RequestParam(required = false) String since,
             HttpServletRequest request) {
         
         Integer userId = AuthUtil.getUserIdFromRequest(request);
@@ -118,8 +218,76 @@ public class TaskController {
                 .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
         }
         
-        List<TaskResponseDTO> tasks = taskService.getTasksByDateRange(userId, startDate, endDate);
-        ApiResponse<List<TaskResponseDTO>> response = ApiResponse.success(tasks, "Tasks fetched successfully");
+        TaskChangesDTO changes = taskService.getChangesSince(userId, since);
+        ApiResponse<TaskChangesDTO> response = ApiResponse.success(changes, "Task changes fetched successfully");
         return ResponseEntity.ok(response);
     }
+    
+    @Operation(
+        summary = "Get task counts per day or week",
+        description = "Returns the authenticated user's task counts by status for each day (granularity=day, default) or ISO week (granularity=week) between from and to, inclusive, up to 366 days. Weeks are labeled with their Monday, except a first week that starts before from, which is labeled with from and only counts days from it. A task counts on the day it starts, or ends if it has no start time. Periods without tasks are omitted. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<List<TaskSummaryDTO>>> getTaskSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity,
+            HttpServletRequest request) {
+        
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
+        }
+        
+        List<TaskSummaryDTO> summary = taskSummaryService.getSummary(userId, from, to, granularity);
+        ApiResponse<List<TaskSummaryDTO>> response = ApiResponse.success(summary, "Task summary fetched successfully");
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(
+        summary = "Export all tasks",
+        description = "Streams every task of the authenticated user as newline-delimited JSON (one task object per line), ordered by task ID. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTasks(HttpServletRequest request) {
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        StreamingResponseBody body = out -> taskService.exportTasks(userId, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+            .body(body);
+    }
+    
+    @Operation(
+        summary = "Import tasks in bulk",
+        description = "Imports tasks for the authenticated user from the request body, parsed as it streams in. Send text/csv with a header row of CreateTaskDTO field names, or application/json with an array (or newline-delimited objects) of CreateTaskDTO. Invalid rows, including values of the wrong type or format, are skipped and reported; a body that can no longer be parsed stops the import after the batches already inserted. Answers 201 when tasks were imported, 422 when every row was rejected and 200 for a body with no rows. Requires valid JWT token."
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/json", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<TaskImportResultDTO>> importTasks(HttpServletRequest request) throws IOException {
+        Integer userId = AuthUtil.getUserIdFromRequest(request);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.error("Unauthorized", HttpStatus.UNAUTHORIZED.value()));
+        }
+        
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        TaskImportResultDTO result = taskImportService.importTasks(userId, request.getInputStream(), csv);
+        if (result.getImported() == 0) {
+            if (result.getSkipped() > 0) {
+                return ResponseEntity.unprocessableContent()
+                    .body(ApiResponse.error("No tasks imported", HttpStatus.UNPROCESSABLE_CONTENT.value(), result));
+            }
+            return ResponseEntity.ok(ApiResponse.success(result, "No tasks to import"));
+        }
+        ApiResponse<TaskImportResultDTO> response = ApiResponse.success(result, "Tasks imported successfully");
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
 }
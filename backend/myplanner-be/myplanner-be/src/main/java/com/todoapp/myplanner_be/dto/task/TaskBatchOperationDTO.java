@@ -0,0 +1,32 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One create, update or delete in a task batch")
+public class TaskBatchOperationDTO {
+
+    @NotNull(message = "Operation is required")
+    @Pattern(regexp = "create|update|delete", message = "Operation must be create, update or delete")
+    @Schema(
+        description = "Operation to run: create, update or delete",
+        example = "update"
+    )
+    private String op;
+
+    @Schema(
+        description = "Task ID; required for update and delete",
+        example = "1"
+    )
+    private Integer taskId;
+
+    @Schema(description = "Task fields; required for create and update")
+    private CreateTaskDTO task;
+}
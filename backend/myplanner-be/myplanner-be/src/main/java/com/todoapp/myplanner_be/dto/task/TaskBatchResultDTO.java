@@ -0,0 +1,37 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one operation in a task batch")
+public class TaskBatchResultDTO {
+
+    @Schema(
+        description = "Position of the operation in the request",
+        example = "0"
+    )
+    private Integer index;
+
+    @Schema(
+        description = "ID of the task written; for a create, the new task's ID",
+        example = "1"
+    )
+    private Integer taskId;
+
+    @Schema(
+        description = "Whether the operation was applied",
+        example = "true"
+    )
+    private Boolean success;
+
+    @Schema(
+        description = "Why the operation was rejected; null when applied",
+        example = "Task not found"
+    )
+    private String error;
+}
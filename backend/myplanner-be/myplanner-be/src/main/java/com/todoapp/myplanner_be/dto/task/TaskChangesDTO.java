@@ -0,0 +1,33 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tasks created, updated or deleted since a sync token")
+public class TaskChangesDTO {
+    
+    @Schema(description = "Tasks created or updated since the token, in write order")
+    private List<TaskResponseDTO> changed;
+    
+    @Schema(description = "IDs of tasks deleted since the token", example = "[42, 57]")
+    private List<Integer> deleted;
+    
+    @Schema(
+        description = "Token to pass as since on the next sync",
+        example = "128.42"
+    )
+    private String syncToken;
+    
+    @Schema(
+        description = "Whether more changes are waiting; if true, call again with syncToken right away",
+        example = "false"
+    )
+    private Boolean hasMore;
+}
@@ -0,0 +1,45 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk task import")
+public class TaskImportResultDTO {
+
+    @Schema(
+        description = "Tasks inserted",
+        example = "25000"
+    )
+    private Integer imported;
+
+    @Schema(
+        description = "Rows skipped because they failed validation",
+        example = "2"
+    )
+    private Integer skipped;
+
+    @Schema(
+        description = "Reasons for the first skipped rows, by row number",
+        example = "[\"Row 17: Status not found\"]"
+    )
+    private List<String> errors;
+
+    @Schema(
+        description = "Time spent parsing and inserting, in milliseconds",
+        example = "2140"
+    )
+    private Long elapsedMillis;
+
+    @Schema(
+        description = "Rows inserted per second",
+        example = "11682"
+    )
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,24 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of tasks ordered by start time")
+public class TaskPageDTO {
+    
+    @Schema(description = "Tasks in this page")
+    private List<TaskResponseDTO> tasks;
+    
+    @Schema(
+        description = "Opaque cursor for the next page, or null when this is the last page",
+        example = "MjAyNi0wMi0xNVQwMDowMHwxMjM"
+    )
+    private String nextCursor;
+}
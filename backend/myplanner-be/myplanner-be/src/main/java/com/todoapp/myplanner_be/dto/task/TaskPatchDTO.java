@@ -0,0 +1,77 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial task update. A field left out of the JSON is null here and keeps
+ * its value; for the clearable fields, an explicit JSON null arrives as an
+ * empty Optional and clears the value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to change some fields of a task; omitted fields are left as they are")
+public class TaskPatchDTO {
+
+    @Schema(
+        description = "Version the change is based on, from the task as last read; the patch is rejected with 409 if the task has changed since",
+        example = "3"
+    )
+    private Long version;
+
+    @Size(min = 1, max = 30, message = "Topic must be between 1 and 30 characters")
+    @Schema(
+        description = "Task topic/title",
+        example = "Complete project report"
+    )
+    private String topic;
+
+    @Schema(
+        description = "Task description; null clears it",
+        example = "Finalize and submit the quarterly project report"
+    )
+    private Optional<@Size(max = 100, message = "Description must not exceed 100 characters") String> description;
+
+    @Schema(
+        description = "Status ID of the task",
+        example = "4"
+    )
+    private Byte statusId;
+
+    @Schema(
+        description = "Category ID of the task; null removes the category",
+        example = "1"
+    )
+    private Optional<Integer> categoryId;
+
+    @Schema(
+        description = "Task start time; null clears it",
+        example = "2026-02-15T00:00:00"
+    )
+    private Optional<LocalDateTime> startTime;
+
+    @Schema(
+        description = "Task end time; null clears it",
+        example = "2026-02-15T23:59:00"
+    )
+    private Optional<LocalDateTime> endTime;
+
+    @Schema(
+        description = "Whether to set a reminder",
+        example = "true"
+    )
+    private Boolean isRemainder;
+
+    @Schema(
+        description = "Reminder time; null clears it",
+        example = "2026-02-15T08:30:00"
+    )
+    private Optional<LocalDateTime> remainderTime;
+}
@@ -21,6 +21,29 @@ public class TaskResponseDTO {
     private Boolean isRemainder;
     private LocalDateTime remainderTime;
     private LocalDateTime lastUpdateTime;
+    // Optimistic lock version; send it back with PATCH to reject stale edits
+    private Long version;
+    
+    // Flat constructor for JPQL constructor expressions, see TaskRepository
+    public TaskResponseDTO(Integer taskId, String topic, String description,
+                           Byte statusId, String statusName,
+                           Integer categoryId, String categoryName,
+                           LocalDateTime createTime, LocalDateTime startTime, LocalDateTime endTime,
+                           Boolean isRemainder, LocalDateTime remainderTime, LocalDateTime lastUpdateTime,
+                           Long version) {
+        this.taskId = taskId;
+        this.topic = topic;
+        this.description = description;
+        this.status = statusId != null ? new StatusInfo(statusId, statusName) : null;
+        this.category = categoryId != null ? new CategoryInfo(categoryId, categoryName) : null;
+        this.createTime = createTime;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.isRemainder = isRemainder;
+        this.remainderTime = remainderTime;
+        this.lastUpdateTime = lastUpdateTime;
+        this.version = version;
+    }
     
     @Data
     @NoArgsConstructor
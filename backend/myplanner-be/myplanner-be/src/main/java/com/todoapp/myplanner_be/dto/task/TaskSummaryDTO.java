@@ -0,0 +1,33 @@
+package com.todoapp.myplanner_be.dto.task;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of tasks with one status in one day or week")
+public class TaskSummaryDTO {
+    
+    @Schema(
+        description = "First day of the period; for weekly summaries a Monday, or the from date for a first week that starts before it",
+        example = "2026-02-15"
+    )
+    private LocalDate periodStart;
+    
+    @Schema(
+        description = "Status ID",
+        example = "1"
+    )
+    private Byte statusId;
+    
+    @Schema(
+        description = "Tasks starting in the period with this status",
+        example = "3"
+    )
+    private Integer count;
+}
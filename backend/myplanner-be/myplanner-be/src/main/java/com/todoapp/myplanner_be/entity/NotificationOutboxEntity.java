@@ -0,0 +1,64 @@
+package com.todoapp.myplanner_be.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+public class NotificationOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @Column(name = "outboxId")
+    private Long outboxId;
+
+    @Column(name = "userId", nullable = false)
+    private Integer userId;
+
+    @Column(name = "type", nullable = false, length = 30)
+    private String type;
+
+    @Column(name = "taskId")
+    private Integer taskId;
+
+    @Column(name = "topic", length = 30)
+    private String topic;
+
+    @Column(name = "message", nullable = false, length = 150)
+    private String message;
+
+    @Column(name = "createTime", nullable = false)
+    private LocalDateTime createTime;
+
+    // When the notification was meant to arrive, e.g. the task's remainderTime
+    @Column(name = "dueTime")
+    private LocalDateTime dueTime;
+
+    // Claimed by the replay on subscribe rather than when the reminder fell due
+    @Column(name = "replayed", nullable = false)
+    private Boolean replayed;
+
+    // Node the user's WebSocket session is on, which alone may relay the row; null while the user is offline
+    @Column(name = "nodeId", length = 64)
+    private String nodeId;
+
+    // Node currently relaying the row, and when its claim lapses
+    @Column(name = "leaseOwner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "leaseExpiry")
+    private LocalDateTime leaseExpiry;
+
+}
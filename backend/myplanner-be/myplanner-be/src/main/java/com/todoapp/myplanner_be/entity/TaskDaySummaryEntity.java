@@ -0,0 +1,47 @@
+package com.todoapp.myplanner_be.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "task_day_summary")
+@IdClass(TaskDaySummaryEntity.Key.class)
+@Getter
+@Setter
+public class TaskDaySummaryEntity {
+
+    @Id
+    @Column(name = "userId")
+    private Integer userId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "statusId")
+    private Byte statusId;
+
+    @Column(name = "taskCount", nullable = false)
+    private Integer taskCount;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Integer userId;
+        private LocalDate day;
+        private Byte statusId;
+    }
+}
@@ -2,26 +2,47 @@ package com.todoapp.myplanner_be.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "task")
+@DynamicUpdate
+@NamedEntityGraph(name = "TaskEntity.withStatusAndCategory", attributeNodes = {
+    @NamedAttributeNode("status"),
+    @NamedAttributeNode("category")
+})
+@Table(name = "task", indexes = {
+    @Index(name = "idx_task_due_reminder", columnList = "reminderSent, isRemainder, remainderTime"),
+    @Index(name = "idx_task_user_due_reminder", columnList = "userId, reminderSent, isRemainder, remainderTime"),
+    @Index(name = "idx_task_user_live_start", columnList = "userId, deleted, startTime, taskId"),
+    @Index(name = "idx_task_user_change", columnList = "userId, changeVersion")
+})
 @Getter
 @Setter
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids come from a pooled table generator rather than AUTO_INCREMENT, so inserts can be JDBC batched
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "taskIdGenerator")
+    @TableGenerator(name = "taskIdGenerator", table = "id_generator", pkColumnName = "name",
+        valueColumnName = "nextValue", pkColumnValue = "task", allocationSize = 100)
     @EqualsAndHashCode.Include
     @Column(name = "taskId")
     private Integer taskId;
@@ -32,11 +53,11 @@ public class TaskEntity {
     @Column(name = "description", length = 100)
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "statusId", nullable = false)
     private StatusEntity status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoryId")
     private CategoryList category;
 
@@ -61,7 +82,21 @@ public class TaskEntity {
     @Column(name = "lastUpdateTime", nullable = false)
     private LocalDateTime lastUpdateTime;
 
-    @ManyToOne
+    // User's taskVersion at this task's last write, used as the delta sync position
+    @Column(name = "changeVersion", nullable = false)
+    private Long changeVersion;
+
+    // Deleted tasks stay as tombstones so delta sync can report them
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted = false;
+
+    // Optimistic lock; bumped on every update, so a write based on a stale read fails instead of overwriting.
+    // Left null until persist seeds it, which is also how Spring Data tells a new task from a saved one
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId", nullable = false)
     private UserEntity user;
 
@@ -31,5 +31,12 @@ public class UserEntity {
 
     @Column(name = "password", nullable = false, length = 255)
     private String password;
+
+    // Change counters behind the ETags of the task and category listings
+    @Column(name = "taskVersion", nullable = false)
+    private Long taskVersion = 0L;
+
+    @Column(name = "categoryVersion", nullable = false)
+    private Long categoryVersion = 0L;
     
 }
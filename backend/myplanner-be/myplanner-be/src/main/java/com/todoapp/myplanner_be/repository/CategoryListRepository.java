@@ -1,6 +1,7 @@
 package com.todoapp.myplanner_be.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -14,4 +15,7 @@ public interface CategoryListRepository extends JpaRepository<CategoryList, Inte
     
     boolean existsByCategoryNameAndUser_UserId(String categoryName, Integer userId);
     
+    // The category only if it belongs to the user: ownership check and load in one query, without its user
+    Optional<CategoryList> findByCategoryIdAndUser_UserId(Integer categoryId, Integer userId);
+    
 }
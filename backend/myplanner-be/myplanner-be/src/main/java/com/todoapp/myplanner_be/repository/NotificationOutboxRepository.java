@@ -0,0 +1,87 @@
+package com.todoapp.myplanner_be.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.myplanner_be.entity.NotificationOutboxEntity;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntity, Long> {
+    
+    // Locks the oldest rows routed to this node that no relay holds a live lease on; served by idx_outbox_node.
+    // SKIP LOCKED keeps concurrent relays disjoint
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutboxEntity o " +
+           "WHERE o.nodeId = :nodeId " +
+           "AND (o.leaseExpiry IS NULL OR o.leaseExpiry < :now) " +
+           "ORDER BY o.outboxId")
+    List<NotificationOutboxEntity> lockRelayable(
+        @Param("nodeId") String nodeId,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    // Unroutes rows of users who went offline; no node relays them until the user subscribes again
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity o SET o.nodeId = null, o.leaseOwner = null, o.leaseExpiry = null " +
+           "WHERE o.outboxId IN :outboxIds AND o.leaseOwner = :owner")
+    int park(
+        @Param("outboxIds") Collection<Long> outboxIds,
+        @Param("owner") String owner
+    );
+    
+    // Users with rows left unrouted since the given time by a node they were not connected to; served by idx_outbox_unrouted
+    @Query("SELECT DISTINCT o.userId FROM NotificationOutboxEntity o WHERE o.nodeId IS NULL AND o.createTime >= :since")
+    List<Integer> findUnroutedUserIdsSince(@Param("since") LocalDateTime since);
+    
+    // Routes a user's unrouted rows to the node they are connected to; unrouted rows carry no lease
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity o SET o.nodeId = :nodeId WHERE o.userId = :userId AND o.nodeId IS NULL")
+    int route(
+        @Param("userId") Integer userId,
+        @Param("nodeId") String nodeId
+    );
+    
+    // Routes a user's waiting rows to the node they just subscribed on, leaving rows another relay is sending.
+    // They waited for the user to come back, so they are timed as replayed
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity o SET o.nodeId = :nodeId, o.replayed = true, o.leaseOwner = null, o.leaseExpiry = null " +
+           "WHERE o.userId = :userId " +
+           "AND (o.nodeId IS NULL OR o.nodeId <> :nodeId) " +
+           "AND (o.leaseExpiry IS NULL OR o.leaseExpiry < :now)")
+    int adopt(
+        @Param("userId") Integer userId,
+        @Param("nodeId") String nodeId,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE NotificationOutboxEntity o SET o.leaseOwner = :owner, o.leaseExpiry = :expiry " +
+           "WHERE o.outboxId IN :outboxIds")
+    int lease(
+        @Param("outboxIds") Collection<Long> outboxIds,
+        @Param("owner") String owner,
+        @Param("expiry") LocalDateTime expiry
+    );
+    
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEntity o WHERE o.outboxId IN :outboxIds AND o.leaseOwner = :owner")
+    int deleteRelayed(
+        @Param("outboxIds") Collection<Long> outboxIds,
+        @Param("owner") String owner
+    );
+}
@@ -0,0 +1,63 @@
+package com.todoapp.myplanner_be.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.todoapp.myplanner_be.entity.TaskDaySummaryEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaskDaySummaryRepository extends JpaRepository<TaskDaySummaryEntity, TaskDaySummaryEntity.Key> {
+    
+    // A user's non-empty day/status counts in [from, to]; served by the primary key
+    @Query("SELECT s FROM TaskDaySummaryEntity s " +
+           "WHERE s.userId = :userId " +
+           "AND s.day BETWEEN :from AND :to " +
+           "AND s.taskCount > 0 " +
+           "ORDER BY s.day, s.statusId")
+    List<TaskDaySummaryEntity> findByUserIdAndDayRange(
+        @Param("userId") Integer userId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+    
+    // Adds delta to one day/status count, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO task_day_summary (userId, day, statusId, taskCount) " +
+                   "VALUES (:userId, :day, :statusId, :delta) " +
+                   "ON DUPLICATE KEY UPDATE taskCount = taskCount + :delta",
+           nativeQuery = true)
+    int addToCount(
+        @Param("userId") Integer userId,
+        @Param("day") LocalDate day,
+        @Param("statusId") Byte statusId,
+        @Param("delta") int delta
+    );
+    
+    // Takes one live task of the user out of its day/status count, reading the day and status from the task row
+    @Modifying
+    @Query(value = "UPDATE task_day_summary s JOIN task t " +
+                   "ON s.userId = t.userId AND s.day = DATE(COALESCE(t.startTime, t.endTime)) AND s.statusId = t.statusId " +
+                   "SET s.taskCount = s.taskCount - 1 " +
+                   "WHERE t.taskId = :taskId AND t.userId = :userId AND t.deleted = FALSE",
+           nativeQuery = true)
+    int removeTaskCount(@Param("userId") Integer userId, @Param("taskId") Integer taskId);
+    
+    @Modifying
+    @Query("DELETE FROM TaskDaySummaryEntity s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+    
+    // Recomputes a user's counts from the task table; a task counts on the day it starts, or ends if it has no start
+    @Modifying
+    @Query(value = "INSERT INTO task_day_summary (userId, day, statusId, taskCount) " +
+                   "SELECT userId, DATE(COALESCE(startTime, endTime)), statusId, COUNT(*) FROM task " +
+                   "WHERE userId = :userId AND deleted = FALSE AND COALESCE(startTime, endTime) IS NOT NULL " +
+                   "GROUP BY userId, DATE(COALESCE(startTime, endTime)), statusId",
+           nativeQuery = true)
+    int insertCountsFromTasks(@Param("userId") Integer userId);
+}
@@ -1,32 +1,297 @@
 package com.todoapp.myplanner_be.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.entity.CategoryList;
+import com.todoapp.myplanner_be.entity.StatusEntity;
 import com.todoapp.myplanner_be.entity.TaskEntity;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<TaskEntity, Integer> {
     
-    List<TaskEntity> findByUser_UserId(Integer userId);
+    // Selects only the columns of TaskResponseDTO, joining status and category in the same statement
+    String TASK_RESPONSE_SELECT = "SELECT new com.todoapp.myplanner_be.dto.task.TaskResponseDTO(" +
+           "t.taskId, t.topic, t.description, s.statusId, s.statusName, c.categoryId, c.categoryName, " +
+           "t.createTime, t.startTime, t.endTime, t.isRemainder, t.remainderTime, t.lastUpdateTime, t.version) " +
+           "FROM TaskEntity t LEFT JOIN t.status s LEFT JOIN t.category c ";
+    
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    List<TaskEntity> findByUser_UserIdAndDeletedFalse(Integer userId);
+    
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    List<TaskEntity> findByUser_UserIdAndStatus_StatusIdAndDeletedFalse(Integer userId, Byte statusId);
+    
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    List<TaskEntity> findByUser_UserIdAndCategory_CategoryIdAndDeletedFalse(Integer userId, Integer categoryId);
     
-    List<TaskEntity> findByUser_UserIdAndStatus_StatusId(Integer userId, Byte statusId);
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    Optional<TaskEntity> findWithStatusAndCategoryByTaskIdAndDeletedFalse(Integer taskId);
     
-    List<TaskEntity> findByUser_UserIdAndCategory_CategoryId(Integer userId, Integer categoryId);
+    // Every live task a batch refers to, in one query
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    List<TaskEntity> findByTaskIdInAndDeletedFalse(Collection<Integer> taskIds);
     
     boolean existsByCategory_CategoryId(Integer categoryId);
     
-    @Query("SELECT t FROM TaskEntity t WHERE t.user.userId = :userId " +
+    // Owner of a live task, or null; tells "not found" from "not yours" after a conditional write misses
+    @Query("SELECT t.user.userId FROM TaskEntity t WHERE t.taskId = :taskId AND t.deleted = false")
+    Integer findLiveOwnerId(@Param("taskId") Integer taskId);
+    
+    @Query(TASK_RESPONSE_SELECT + "WHERE t.taskId = :taskId")
+    TaskResponseDTO findResponseById(@Param("taskId") Integer taskId);
+    
+    // Rewrites a live task in one statement if it belongs to the user; 0 rows means missing or not theirs
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.topic = :topic, t.description = :description, " +
+           "t.status = :status, t.category = :category, t.startTime = :startTime, t.endTime = :endTime, " +
+           "t.isRemainder = :isRemainder, t.remainderTime = :remainderTime, t.reminderSent = :reminderSent, " +
+           "t.lastUpdateTime = :now, t.changeVersion = :changeVersion, t.version = t.version + 1 " +
+           "WHERE t.taskId = :taskId AND t.user.userId = :userId AND t.deleted = false")
+    int updateOwned(
+        @Param("taskId") Integer taskId,
+        @Param("userId") Integer userId,
+        @Param("topic") String topic,
+        @Param("description") String description,
+        @Param("status") StatusEntity status,
+        @Param("category") CategoryList category,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("isRemainder") Boolean isRemainder,
+        @Param("remainderTime") LocalDateTime remainderTime,
+        @Param("reminderSent") Boolean reminderSent,
+        @Param("now") LocalDateTime now,
+        @Param("changeVersion") Long changeVersion
+    );
+    
+    // Turns a live task of the user into a tombstone in one statement; 0 rows means missing or not theirs
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.deleted = true, t.category = null, t.isRemainder = false, " +
+           "t.remainderTime = null, t.reminderSent = null, t.lastUpdateTime = :now, " +
+           "t.changeVersion = :changeVersion, t.version = t.version + 1 " +
+           "WHERE t.taskId = :taskId AND t.user.userId = :userId AND t.deleted = false")
+    int softDeleteOwned(
+        @Param("taskId") Integer taskId,
+        @Param("userId") Integer userId,
+        @Param("now") LocalDateTime now,
+        @Param("changeVersion") Long changeVersion
+    );
+    
+    // First page of a user's tasks in (startTime, taskId) order; served by idx_task_user_live_start.
+    // MySQL sorts NULL first, so tasks without a start time lead the listing
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND (t.startTime >= :startDate OR :startDate IS NULL) " +
+           "AND (t.endTime <= :endDate OR :endDate IS NULL) " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findPageByUserIdAndDateRange(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
+    );
+    
+    // Next page after a cursor with a start time
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
            "AND (t.startTime >= :startDate OR :startDate IS NULL) " +
-           "AND (t.endTime <= :endDate OR :endDate IS NULL)")
-    List<TaskEntity> findByUserIdAndDateRange(
+           "AND (t.endTime <= :endDate OR :endDate IS NULL) " +
+           "AND (t.startTime > :afterTime OR (t.startTime = :afterTime AND t.taskId > :afterId)) " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findPageByUserIdAndDateRangeAfter(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterTime") LocalDateTime afterTime,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
+    );
+    
+    // Next page after a cursor on a task without a start time
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND (t.startTime >= :startDate OR :startDate IS NULL) " +
+           "AND (t.endTime <= :endDate OR :endDate IS NULL) " +
+           "AND ((t.startTime IS NULL AND t.taskId > :afterId) OR t.startTime IS NOT NULL) " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findPageByUserIdAndDateRangeAfterUnscheduled(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
+    );
+    
+    // Streams a user's live tasks for export; a fetch size of Integer.MIN_VALUE makes MySQL send rows one at a time
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "ORDER BY t.taskId")
+    Stream<TaskResponseDTO> streamByUserId(@Param("userId") Integer userId);
+    
+    // Live tasks with a start or end time, for the in-memory interval index
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND (t.startTime IS NOT NULL OR t.endTime IS NOT NULL)")
+    List<TaskResponseDTO> findScheduledByUserId(@Param("userId") Integer userId);
+    
+    // First page of a user's tasks overlapping [startDate, endDate]; a task with one time set is an instant
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND COALESCE(t.startTime, t.endTime) <= :endDate " +
+           "AND COALESCE(t.endTime, t.startTime) >= :startDate " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findOverlapPage(
         @Param("userId") Integer userId,
         @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
+        @Param("endDate") LocalDateTime endDate,
+        Pageable pageable
+    );
+    
+    // Next overlap page after a cursor with a start time
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND COALESCE(t.startTime, t.endTime) <= :endDate " +
+           "AND COALESCE(t.endTime, t.startTime) >= :startDate " +
+           "AND (t.startTime > :afterTime OR (t.startTime = :afterTime AND t.taskId > :afterId)) " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findOverlapPageAfter(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterTime") LocalDateTime afterTime,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
+    );
+    
+    // Next overlap page after a cursor on a task without a start time
+    @Query(TASK_RESPONSE_SELECT +
+           "WHERE t.user.userId = :userId " +
+           "AND t.deleted = false " +
+           "AND COALESCE(t.startTime, t.endTime) <= :endDate " +
+           "AND COALESCE(t.endTime, t.startTime) >= :startDate " +
+           "AND ((t.startTime IS NULL AND t.taskId > :afterId) OR t.startTime IS NOT NULL) " +
+           "ORDER BY t.startTime, t.taskId")
+    List<TaskResponseDTO> findOverlapPageAfterUnscheduled(
+        @Param("userId") Integer userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
+    );
+    
+    // Tasks written after a (changeVersion, taskId) sync position, tombstones included; served by idx_task_user_change, whose entries end in the taskId
+    @EntityGraph("TaskEntity.withStatusAndCategory")
+    @Query("SELECT t FROM TaskEntity t " +
+           "WHERE t.user.userId = :userId " +
+           "AND (t.changeVersion > :sinceVersion OR (t.changeVersion = :sinceVersion AND t.taskId > :afterId)) " +
+           "ORDER BY t.changeVersion, t.taskId")
+    List<TaskEntity> findChangesSince(
+        @Param("userId") Integer userId,
+        @Param("sinceVersion") Long sinceVersion,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
     );
+    
+    // Unsent reminders due in (from, until], in (remainderTime, taskId) order; served by idx_task_due_reminder
+    @Query("SELECT t FROM TaskEntity t " +
+           "WHERE t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime > :from " +
+           "AND t.remainderTime <= :until " +
+           "ORDER BY t.remainderTime, t.taskId")
+    List<TaskEntity> findUpcomingReminders(
+        @Param("from") LocalDateTime from,
+        @Param("until") LocalDateTime until,
+        Pageable pageable
+    );
+    
+    // Next page of findUpcomingReminders, continuing after the last (remainderTime, taskId) seen
+    @Query("SELECT t FROM TaskEntity t " +
+           "WHERE t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime > :from " +
+           "AND t.remainderTime <= :until " +
+           "AND (t.remainderTime > :afterTime OR (t.remainderTime = :afterTime AND t.taskId > :afterId)) " +
+           "ORDER BY t.remainderTime, t.taskId")
+    List<TaskEntity> findUpcomingRemindersAfter(
+        @Param("from") LocalDateTime from,
+        @Param("until") LocalDateTime until,
+        @Param("afterTime") LocalDateTime afterTime,
+        @Param("afterId") Integer afterId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT COUNT(t) FROM TaskEntity t " +
+           "WHERE t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime <= :now")
+    long countDueReminders(@Param("now") LocalDateTime now);
+    
+    // Due, unsent reminders of the given users; served by idx_task_user_due_reminder
+    @Query("SELECT COUNT(t) FROM TaskEntity t " +
+           "WHERE t.user.userId IN :userIds " +
+           "AND t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime <= :now")
+    long countDueRemindersForUsers(
+        @Param("userIds") Collection<Integer> userIds,
+        @Param("now") LocalDateTime now
+    );
+    
+    // Locks the given tasks' due reminders by primary key; SKIP LOCKED (lock timeout -2) lets concurrent nodes claim disjoint sets
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM TaskEntity t " +
+           "WHERE t.taskId IN :taskIds " +
+           "AND t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime <= :now")
+    List<TaskEntity> lockClaimableReminders(
+        @Param("taskIds") Collection<Integer> taskIds,
+        @Param("now") LocalDateTime now
+    );
+    
+    // Locks a page of one user's due reminders, with SKIP LOCKED as above; served by idx_task_user_due_reminder
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT t FROM TaskEntity t " +
+           "WHERE t.user.userId = :userId " +
+           "AND t.reminderSent = false " +
+           "AND t.isRemainder = true " +
+           "AND t.remainderTime <= :now " +
+           "ORDER BY t.remainderTime, t.taskId")
+    List<TaskEntity> lockClaimableRemindersForUser(
+        @Param("userId") Integer userId,
+        @Param("now") LocalDateTime now,
+        Pageable pageable
+    );
+    
+    @Modifying
+    @Query("UPDATE TaskEntity t SET t.reminderSent = true WHERE t.taskId IN :taskIds")
+    int markRemindersSent(@Param("taskIds") Collection<Integer> taskIds);
 }
@@ -1,17 +1,46 @@
 package com.todoapp.myplanner_be.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.todoapp.myplanner_be.entity.UserEntity;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Integer> {
+public interface UserRepository extends JpaRepository<UserEntity, Integer>, UserRepositoryCustom {
     
     boolean existsByEmail(String email);
     
     Optional<UserEntity> findByEmail(String email);
     
+    @Query("SELECT u.userId FROM UserEntity u ORDER BY u.userId")
+    List<Integer> findAllUserIds();
+    
+    // Takes the same user row lock task writes take first, to serialize with them
+    @Query(value = "SELECT userId FROM user WHERE userId = :userId FOR UPDATE", nativeQuery = true)
+    Integer lockById(@Param("userId") Integer userId);
+    
+    @Query("SELECT u.taskVersion FROM UserEntity u WHERE u.userId = :userId")
+    Long findTaskVersion(@Param("userId") Integer userId);
+    
+    @Query("SELECT u.categoryVersion FROM UserEntity u WHERE u.userId = :userId")
+    Long findCategoryVersion(@Param("userId") Integer userId);
+    
+    // Reserves count consecutive versions at once for a batch of task writes
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.taskVersion = u.taskVersion + :count WHERE u.userId = :userId")
+    int incrementTaskVersionBy(@Param("userId") Integer userId, @Param("count") long count);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.categoryVersion = u.categoryVersion + 1 WHERE u.userId = :userId")
+    int incrementCategoryVersion(@Param("userId") Integer userId);
+    
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.todoapp.myplanner_be.repository;
+
+public interface UserRepositoryCustom {
+    
+    /**
+     * Adds count to the user's taskVersion and returns the new value, the
+     * last of the count versions reserved, from the UPDATE itself. Null
+     * when the user does not exist.
+     */
+    Long reserveTaskVersions(Integer userId, long count);
+}
@@ -0,0 +1,33 @@
+package com.todoapp.myplanner_be.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    // LAST_INSERT_ID(expr) makes MySQL report the new version as the UPDATE's generated key
+    private static final String RESERVE_TASK_VERSIONS =
+        "UPDATE user SET taskVersion = LAST_INSERT_ID(taskVersion + ?) WHERE userId = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public Long reserveTaskVersions(Integer userId, long count) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        // Runs on the connection of the caller's transaction, so the user row stays locked until it commits
+        int rows = jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESERVE_TASK_VERSIONS,
+                Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, count);
+            statement.setInt(2, userId);
+            return statement;
+        }, keyHolder);
+        return rows == 0 ? null : keyHolder.getKey().longValue();
+    }
+}
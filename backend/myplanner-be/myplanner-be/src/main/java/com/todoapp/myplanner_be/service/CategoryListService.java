@@ -47,8 +47,18 @@ public class CategoryListService {
         category.setCategoryName(createDTO.getCategoryName().trim());
         category.setUser(user);
         
-        // Save and return
-        return categoryListRepository.save(category);
+        // Save, then move the user's category listing ETag on
+        CategoryList savedCategory = categoryListRepository.save(category);
+        userRepository.incrementCategoryVersion(userId);
+        return savedCategory;
+    }
+    
+    /**
+     * Change counter of the user's categories, bumped on every category write.
+     * Null when the user does not exist.
+     */
+    public Long getCategoryVersion(Integer userId) {
+        return userRepository.findCategoryVersion(userId);
     }
     
     public List<CategoryResponseDTO> getAllCategoriesByUser(Integer userId) {
@@ -83,6 +93,7 @@ public class CategoryListService {
         
         // Delete the category
         categoryListRepository.delete(category);
+        userRepository.incrementCategoryVersion(userId);
     }
     
 }
@@ -0,0 +1,357 @@
+package com.todoapp.myplanner_be.service;
+
+import com.todoapp.myplanner_be.dto.NotificationDTO;
+import com.todoapp.myplanner_be.entity.NotificationOutboxEntity;
+import com.todoapp.myplanner_be.repository.NotificationOutboxRepository;
+import com.todoapp.myplanner_be.util.StripedRateLimiter;
+import com.todoapp.myplanner_be.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers rows of the notification outbox over WebSocket.
+ *
+ * Notifications are written to the outbox in the same transaction as the
+ * change that caused them. The relay claims the oldest rows in a short
+ * transaction (SELECT ... FOR UPDATE SKIP LOCKED plus a lease), sends them
+ * with no transaction open, one frame per user carrying a list of
+ * notifications, and then deletes the delivered rows in bulk.
+ * Rows whose send failed, or whose node died mid-batch, are relayed again
+ * once their lease expires.
+ *
+ * The simple broker only reaches sessions on its own instance, so every row
+ * is routed to the node the user is connected to, and a relay only claims
+ * its own node's rows. A reminder claimed on a node the user is not
+ * connected to is written unrouted; each relay pass first routes recent
+ * unrouted rows of users connected here, so such a reminder is delivered
+ * within notification.relay.interval-ms. Rows of a user who has gone
+ * offline by the time they are relayed are unrouted and wait in the outbox;
+ * when the user subscribes again, on any node, adoptUser routes them there.
+ *
+ * Frames are paced by a global token bucket so a burst of reminders due at
+ * the same minute drains over the following seconds instead of flooding the
+ * broker's outbound channel. A striped per-user limiter defers frames for
+ * users who are over their own rate; their rows stay in the outbox and are
+ * picked up again after notification.rate.defer-ms.
+ *
+ * Within a batch, frames are spread over notification.relay.dispatch-workers
+ * threads by hash of user id. Each user's frame goes to one worker, so
+ * per-user order holds while different users are served in parallel. The
+ * relay thread waits for every worker before settling the batch and claiming
+ * the next one.
+ */
+@Service
+public class NotificationRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRelayService.class);
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReminderMetricsService reminderMetricsService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Value("${notification.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notification.relay.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${notification.relay.node-id:}")
+    private String nodeId;
+
+    @Value("${notification.relay.dispatch-workers:4}")
+    private int dispatchWorkers;
+
+    @Value("${notification.rate.global-per-second:500}")
+    private double globalPerSecond;
+
+    @Value("${notification.rate.global-burst:500}")
+    private double globalBurst;
+
+    @Value("${notification.rate.user-per-second:1}")
+    private double userPerSecond;
+
+    @Value("${notification.rate.user-burst:5}")
+    private double userBurst;
+
+    @Value("${notification.rate.user-stripes:1024}")
+    private int userStripes;
+
+    @Value("${notification.rate.defer-ms:1000}")
+    private long deferMs;
+
+    private ThreadPoolTaskScheduler relayThread;
+    private ThreadPoolTaskExecutor dispatchExecutor;
+    private TokenBucket globalLimiter;
+    private StripedRateLimiter userLimiter;
+    private final AtomicBoolean relayQueued = new AtomicBoolean();
+
+    @PostConstruct
+    public void startRelay() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        if (batchSize / globalPerSecond >= leaseSeconds) {
+            throw new IllegalStateException("notification.relay.lease-seconds must exceed the time to send one batch at notification.rate.global-per-second");
+        }
+
+        globalLimiter = new TokenBucket(globalPerSecond, globalBurst);
+        userLimiter = new StripedRateLimiter(userStripes, userPerSecond, userBurst);
+
+        relayThread = new ThreadPoolTaskScheduler();
+        relayThread.setPoolSize(1);
+        relayThread.setThreadNamePrefix("notification-relay-");
+        relayThread.initialize();
+
+        dispatchExecutor = new ThreadPoolTaskExecutor();
+        dispatchExecutor.setCorePoolSize(dispatchWorkers);
+        dispatchExecutor.setMaxPoolSize(dispatchWorkers);
+        dispatchExecutor.setThreadNamePrefix("notification-dispatch-");
+        dispatchExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void stopRelay() {
+        relayThread.shutdown();
+        dispatchExecutor.shutdown();
+    }
+
+    /**
+     * Name of this instance, recorded on the outbox rows it is to deliver.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Asks the relay thread to drain the outbox. Call after committing new
+     * outbox rows; wake-ups that arrive while one is queued are coalesced.
+     */
+    public void wake() {
+        if (relayQueued.compareAndSet(false, true)) {
+            relayThread.execute(this::relayPending);
+        }
+    }
+
+    /**
+     * Routes the user's waiting outbox rows to this node, after they
+     * subscribe here, and relays them.
+     */
+    public void adoptUser(Integer userId) {
+        Integer adopted = transactionTemplate.execute(status ->
+                outboxRepository.adopt(userId, nodeId, LocalDateTime.now()));
+        if (adopted != null && adopted > 0) {
+            logger.info("Routed {} waiting notifications of user {} to this node", adopted, userId);
+            wake();
+        }
+    }
+
+    /**
+     * Safety net for rows left behind by expired leases or deferred by the
+     * per-user limit, and the pass that picks up reminders other nodes
+     * claimed for users connected here. Runs every
+     * notification.relay.interval-ms (default 5 seconds).
+     */
+    @Scheduled(fixedDelayString = "${notification.relay.interval-ms:5000}")
+    public void relayOnInterval() {
+        wake();
+    }
+
+    private void relayPending() {
+        relayQueued.set(false);
+        try {
+            routeUnrouted();
+            List<NotificationOutboxEntity> batch;
+            do {
+                batch = claimBatch();
+                relayBatch(batch);
+            } while (batch.size() == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Failed to relay notification outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Routes rows that another node claimed in the last lease period for
+     * users connected here. Older unrouted rows belong to users who were
+     * offline, and are adopted when they subscribe.
+     */
+    private void routeUnrouted() {
+        LocalDateTime since = LocalDateTime.now().minusSeconds(leaseSeconds);
+        List<Integer> userIds = outboxRepository.findUnroutedUserIdsSince(since).stream()
+                .filter(presenceService::isOnline)
+                .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                userIds.forEach(userId -> outboxRepository.route(userId, nodeId)));
+        logger.debug("Routed unrouted notifications of {} users connected here", userIds.size());
+    }
+
+    private List<NotificationOutboxEntity> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutboxEntity> claimed = outboxRepository.lockRelayable(nodeId, now, PageRequest.of(0, batchSize));
+            if (!claimed.isEmpty()) {
+                List<Long> outboxIds = claimed.stream().map(NotificationOutboxEntity::getOutboxId).toList();
+                outboxRepository.lease(outboxIds, nodeId, now.plusSeconds(leaseSeconds));
+            }
+            return claimed;
+        });
+    }
+
+    private void relayBatch(List<NotificationOutboxEntity> batch) throws InterruptedException {
+        // One frame per user carrying all of that user's notifications in the batch,
+        // with each user's frame assigned to a stripe by user id
+        List<Map<Integer, List<NotificationOutboxEntity>>> stripes = new ArrayList<>(dispatchWorkers);
+        for (int i = 0; i < dispatchWorkers; i++) {
+            stripes.add(new LinkedHashMap<>());
+        }
+        List<NotificationOutboxEntity> offline = new ArrayList<>();
+        for (NotificationOutboxEntity row : batch) {
+            if (!presenceService.isOnline(row.getUserId())) {
+                // Sending would reach no session; keep the row for the user's next subscribe
+                offline.add(row);
+                continue;
+            }
+            stripes.get(Math.floorMod(row.getUserId().hashCode(), dispatchWorkers))
+                    .computeIfAbsent(row.getUserId(), userId -> new ArrayList<>())
+                    .add(row);
+        }
+
+        Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+        Queue<Long> deferred = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> pending = new ArrayList<>(dispatchWorkers);
+        for (Map<Integer, List<NotificationOutboxEntity>> stripe : stripes) {
+            if (!stripe.isEmpty()) {
+                pending.add(dispatchExecutor.submitCompletable(() -> dispatchStripe(stripe, delivered, deferred)));
+            }
+        }
+
+        // Finish the whole batch before settling it, so the next batch never overlaps this one
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get();
+        } catch (ExecutionException e) {
+            logger.error("Notification dispatch failed: {}", e.getCause().getMessage(), e.getCause());
+        }
+
+        if (!delivered.isEmpty()) {
+            List<Long> deliveredIds = new ArrayList<>(delivered);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteRelayed(deliveredIds, nodeId));
+        }
+        if (!offline.isEmpty()) {
+            parkOffline(offline);
+        }
+        if (!deferred.isEmpty()) {
+            // Shorten the lease so the rows become relayable again once the user's budget refills
+            logger.debug("Deferred {} notifications over the per-user rate", deferred.size());
+            List<Long> deferredIds = new ArrayList<>(deferred);
+            LocalDateTime retryAt = LocalDateTime.now().plus(Duration.ofMillis(deferMs));
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.lease(deferredIds, nodeId, retryAt));
+            relayThread.schedule(this::wake, Instant.now().plusMillis(deferMs));
+        }
+    }
+
+    /**
+     * Unroutes rows of users who are no longer connected here. A user who
+     * subscribed again while this batch was being relayed could not adopt
+     * the leased rows then, so they are adopted now.
+     */
+    private void parkOffline(List<NotificationOutboxEntity> offline) {
+        List<Long> offlineIds = offline.stream().map(NotificationOutboxEntity::getOutboxId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.park(offlineIds, nodeId));
+        logger.debug("Parked {} notifications of users who went offline", offlineIds.size());
+
+        offline.stream()
+                .map(NotificationOutboxEntity::getUserId)
+                .distinct()
+                .filter(presenceService::isOnline)
+                .forEach(this::adoptUser);
+    }
+
+    /**
+     * Sends the frames of one stripe in order on a dispatch worker.
+     */
+    private void dispatchStripe(Map<Integer, List<NotificationOutboxEntity>> stripe,
+                                Queue<Long> delivered, Queue<Long> deferred) {
+        for (Map.Entry<Integer, List<NotificationOutboxEntity>> entry : stripe.entrySet()) {
+            Integer userId = entry.getKey();
+            List<NotificationOutboxEntity> rows = entry.getValue();
+            if (!userLimiter.tryAcquire(userId)) {
+                rows.forEach(row -> deferred.add(row.getOutboxId()));
+                continue;
+            }
+            try {
+                globalLimiter.acquire();
+            } catch (InterruptedException e) {
+                // Shutting down; rows left unsent are relayed again when their lease expires
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                List<NotificationDTO> notifications = rows.stream()
+                        .map(row -> new NotificationDTO(
+                                row.getType(),
+                                row.getTaskId(),
+                                row.getTopic(),
+                                row.getMessage(),
+                                row.getCreateTime()))
+                        .toList();
+
+                // Send WebSocket notifications to user's personal queue
+                String destination = "/queue/user/" + userId + "/notifications";
+                messagingTemplate.convertAndSend(destination, notifications);
+
+                logger.info("Sent {} notifications to user {}", notifications.size(), userId);
+                LocalDateTime sentTime = LocalDateTime.now();
+                for (NotificationOutboxEntity row : rows) {
+                    delivered.add(row.getOutboxId());
+                    reminderMetricsService.recordSent(row, sentTime);
+                }
+            } catch (Exception e) {
+                reminderMetricsService.recordFailed(rows.size());
+                logger.error("Failed to send {} notifications to user {}: {}",
+                        rows.size(), userId, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.todoapp.myplanner_be.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which users have a WebSocket session subscribed to their
+ * notification queue on this instance.
+ *
+ * The simple broker only reaches sessions connected to the same instance,
+ * so this local view is exactly the set of users a send from here can
+ * reach. A user stays online while at least one of their sessions is open.
+ */
+@Service
+public class PresenceService {
+
+    // Session id -> user id of the notification queue it subscribed to
+    private final Map<String, Integer> sessionUsers = new ConcurrentHashMap<>();
+
+    // User id -> number of open sessions
+    private final Map<Integer, Integer> onlineUsers = new ConcurrentHashMap<>();
+
+    public void sessionSubscribed(String sessionId, Integer userId) {
+        if (sessionUsers.putIfAbsent(sessionId, userId) == null) {
+            onlineUsers.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    public void sessionClosed(String sessionId) {
+        Integer userId = sessionUsers.remove(sessionId);
+        if (userId != null) {
+            onlineUsers.computeIfPresent(userId, (id, sessions) -> sessions > 1 ? sessions - 1 : null);
+        }
+    }
+
+    public boolean isOnline(Integer userId) {
+        return onlineUsers.containsKey(userId);
+    }
+
+    /**
+     * Live view of the online user ids; copy it for a stable snapshot.
+     */
+    public Set<Integer> getOnlineUserIds() {
+        return onlineUsers.keySet();
+    }
+}
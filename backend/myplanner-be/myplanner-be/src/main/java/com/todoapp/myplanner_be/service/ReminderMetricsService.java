@@ -0,0 +1,168 @@
+package com.todoapp.myplanner_be.service;
+
+import com.todoapp.myplanner_be.entity.NotificationOutboxEntity;
+import com.todoapp.myplanner_be.repository.NotificationOutboxRepository;
+import com.todoapp.myplanner_be.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer instrumentation for the reminder pipeline, exposed on
+ * /actuator/prometheus.
+ *
+ * reminder.delivery.lag is published as a histogram with an SLO bucket at
+ * reminder.metrics.lag-slo-ms, so alerts can fire on its p99. It is tagged
+ * by path: path=live is measured from remainderTime and is what alerts
+ * should select; path=replay covers reminders of users who were offline
+ * when they fell due, measured from when the replay claimed them, so hours
+ * spent offline do not count as delivery lag. The backlog
+ * gauges are sampled on an interval rather than queried on every scrape.
+ *
+ * reminder.backlog only counts reminders of users online on this instance,
+ * which the scheduler is expected to claim within a tick. Reminders held
+ * for offline users until they reconnect are counted by reminder.held.
+ */
+@Service
+public class ReminderMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderMetricsService.class);
+
+    // Online user ids bound into one backlog count query
+    private static final int ONLINE_USER_CHUNK = 1000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Value("${reminder.metrics.lag-slo-ms:1000}")
+    private long lagSloMs;
+
+    private final AtomicLong dueBacklog = new AtomicLong();
+    private final AtomicLong heldBacklog = new AtomicLong();
+    private final AtomicLong outboxBacklog = new AtomicLong();
+
+    private Timer scanTimer;
+    private Timer refillTimer;
+    private Timer replayTimer;
+    private Timer deliveryLag;
+    private Timer replayLag;
+    private Counter sentCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void registerMeters() {
+        scanTimer = Timer.builder("reminder.scan")
+                .description("Time to claim all due reminders into the outbox")
+                .register(meterRegistry);
+        refillTimer = Timer.builder("reminder.refill")
+                .description("Time to load the upcoming reminder horizon into the timing wheel")
+                .register(meterRegistry);
+        replayTimer = Timer.builder("reminder.replay")
+                .description("Time to queue a user's pending reminders after they subscribe")
+                .register(meterRegistry);
+        deliveryLag = lagTimer("live", "Time from a reminder's remainderTime to its WebSocket send");
+        replayLag = lagTimer("replay", "Time from a replayed reminder's claim to its WebSocket send");
+        sentCounter = Counter.builder("reminder.sent")
+                .description("Reminders delivered over WebSocket")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("reminder.failed")
+                .description("Reminder sends that failed and will be retried")
+                .register(meterRegistry);
+
+        Gauge.builder("reminder.backlog", dueBacklog, AtomicLong::get)
+                .description("Reminders of users online on this instance that are due but not yet claimed")
+                .register(meterRegistry);
+        Gauge.builder("reminder.held", heldBacklog, AtomicLong::get)
+                .description("Due reminders waiting in the database, mostly for offline users to reconnect")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.backlog", outboxBacklog, AtomicLong::get)
+                .description("Claimed notifications waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    private Timer lagTimer(String path, String description) {
+        return Timer.builder("reminder.delivery.lag")
+                .description(description)
+                .tag("path", path)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(lagSloMs))
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry);
+    }
+
+    public void timeScan(Runnable scan) {
+        scanTimer.record(scan);
+    }
+
+    public void timeRefill(Runnable refill) {
+        refillTimer.record(refill);
+    }
+
+    public void timeReplay(Runnable replay) {
+        replayTimer.record(replay);
+    }
+
+    public void recordSent(NotificationOutboxEntity row, LocalDateTime sentTime) {
+        sentCounter.increment();
+        if (Boolean.TRUE.equals(row.getReplayed())) {
+            record(replayLag, row.getCreateTime(), sentTime);
+        } else if (row.getDueTime() != null) {
+            record(deliveryLag, row.getDueTime(), sentTime);
+        }
+    }
+
+    private static void record(Timer timer, LocalDateTime from, LocalDateTime sentTime) {
+        Duration lag = Duration.between(from, sentTime);
+        timer.record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    public void recordFailed(int count) {
+        failedCounter.increment(count);
+    }
+
+    /**
+     * Samples the backlog gauges every reminder.metrics.backlog-interval-ms
+     * (default 30 seconds) with indexed count queries.
+     */
+    @Scheduled(fixedDelayString = "${reminder.metrics.backlog-interval-ms:30000}")
+    public void sampleBacklog() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Integer> onlineUserIds = new ArrayList<>(presenceService.getOnlineUserIds());
+            long online = 0;
+            for (int from = 0; from < onlineUserIds.size(); from += ONLINE_USER_CHUNK) {
+                List<Integer> userIds = onlineUserIds.subList(from, Math.min(from + ONLINE_USER_CHUNK, onlineUserIds.size()));
+                online += taskRepository.countDueRemindersForUsers(userIds, now);
+            }
+            dueBacklog.set(online);
+            heldBacklog.set(taskRepository.countDueReminders(now));
+            outboxBacklog.set(outboxRepository.count());
+        } catch (Exception e) {
+            logger.error("Failed to sample reminder backlog: {}", e.getMessage(), e);
+        }
+    }
+}
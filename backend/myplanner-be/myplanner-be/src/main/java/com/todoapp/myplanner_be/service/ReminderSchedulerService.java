@@ -1,78 +1,287 @@
 package com.todoapp.myplanner_be.service;
 
-import com.todoapp.myplanner_be.dto.NotificationDTO;
+import com.todoapp.myplanner_be.entity.NotificationOutboxEntity;
 import com.todoapp.myplanner_be.entity.TaskEntity;
+import com.todoapp.myplanner_be.repository.NotificationOutboxRepository;
 import com.todoapp.myplanner_be.repository.TaskRepository;
+import com.todoapp.myplanner_be.util.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Fires task reminders at their remainderTime.
+ *
+ * Upcoming reminders for the next reminder.wheel.horizon-hours are held in an
+ * in-memory timing wheel. The wheel is refilled from the database at startup
+ * and on every refill interval, and kept current by TaskService on task
+ * writes. When entries expire, those reminders are claimed from the
+ * database by primary key, so the database stays the source of truth and a
+ * claim costs as much as the number of reminders that fired.
+ *
+ * Several backend instances can share one database. Each node claims a
+ * disjoint page of due reminders with SELECT ... FOR UPDATE SKIP LOCKED and,
+ * in the same transaction, marks them sent and writes their notifications
+ * to the outbox. NotificationRelayService then delivers the outbox with no
+ * transaction open, so socket I/O never holds database locks.
+ *
+ * A reminder is only in the wheel of the node that wrote it until the next
+ * refill, while its user may be connected to another node. So every fired
+ * reminder is claimed, whoever it belongs to. Rows of users connected here
+ * are routed to this node's relay. The rest are left unrouted, and the relay
+ * of the node the user is connected to picks them up on its next pass, or
+ * WebSocketEventListener adopts them when the user subscribes again.
+ */
 @Service
 public class ReminderSchedulerService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReminderSchedulerService.class);
 
+    // 64 slots x 4 levels at a 10 ms tick holds about 46 hours of reminders
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationRelayService notificationRelayService;
+
+    @Autowired
+    private ReminderMetricsService reminderMetricsService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${reminder.scan.batch-size:500}")
+    private int scanBatchSize;
+
+    @Value("${reminder.sent-flush.chunk-size:1000}")
+    private int sentFlushChunkSize;
+
+    @Value("${reminder.wheel.tick-ms:10}")
+    private long wheelTickMs;
+
+    @Value("${reminder.wheel.horizon-hours:6}")
+    private long horizonHours;
+
+    private TimingWheel<Integer> wheel;
+    private ThreadPoolTaskScheduler wheelTicker;
+
+    // Reminders due up to this time are held in the wheel
+    private volatile LocalDateTime horizonEnd;
+
+    @PostConstruct
+    public void startWheel() {
+        wheel = new TimingWheel<>(wheelTickMs, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        if (Duration.ofHours(horizonHours).toMillis() >= wheel.getCapacityMs()) {
+            throw new IllegalStateException("reminder.wheel.horizon-hours exceeds the timing wheel capacity");
+        }
+        horizonEnd = LocalDateTime.now().plusHours(horizonHours);
+
+        wheelTicker = new ThreadPoolTaskScheduler();
+        wheelTicker.setPoolSize(1);
+        wheelTicker.setThreadNamePrefix("reminder-wheel-");
+        wheelTicker.initialize();
+        wheelTicker.scheduleAtFixedRate(this::onTick, Duration.ofMillis(wheelTickMs));
+    }
+
+    @PreDestroy
+    public void stopWheel() {
+        wheelTicker.shutdown();
+    }
 
     /**
-     * Runs every 1 minute to check for due task reminders
+     * Loads every unsent reminder due between now and the horizon into the
+     * wheel. Runs at startup and then every reminder.wheel.refill-interval-ms
+     * (default 5 minutes) to roll the horizon forward. Overdue reminders are
+     * not loaded: they fell due while no node held them, and are replayed
+     * when their users subscribe.
      */
-    @Scheduled(fixedRate = 30000) // 30000 ms = 30 seconds
-    @Transactional
-    public void checkAndSendReminders() {
-        logger.info("Checking for due task reminders...");
+    @Scheduled(fixedRateString = "${reminder.wheel.refill-interval-ms:300000}")
+    public void refillWheel() {
+        reminderMetricsService.timeRefill(this::loadHorizon);
+    }
 
+    private void loadHorizon() {
+        // Move the horizon first so tasks written during the scan schedule themselves
         LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusHours(horizonHours);
+        horizonEnd = until;
+
+        int loaded = forEachUpcomingPage(now, until, upcomingTasks -> {
+            synchronized (wheel) {
+                for (TaskEntity task : upcomingTasks) {
+                    wheel.schedule(task.getTaskId(), toEpochMillis(task.getRemainderTime()));
+                }
+            }
+        });
+
+        logger.info("Loaded {} upcoming reminders into the timing wheel", loaded);
+    }
+
+    /**
+     * Adds, moves or removes the task's reminder in the wheel after a task write.
+     */
+    public void scheduleReminder(TaskEntity task) {
+        boolean pending = Boolean.TRUE.equals(task.getIsRemainder()) && !Boolean.TRUE.equals(task.getReminderSent());
+        scheduleReminder(task.getTaskId(), pending ? task.getRemainderTime() : null);
+    }
+
+    /**
+     * Adds or moves the unsent reminder of a task to remainderTime, or
+     * removes it when remainderTime is null.
+     */
+    public void scheduleReminder(Integer taskId, LocalDateTime remainderTime) {
+        if (remainderTime == null || remainderTime.isAfter(horizonEnd)) {
+            // Reminders beyond the horizon are picked up by a later refill
+            cancelReminder(taskId);
+            return;
+        }
+
+        synchronized (wheel) {
+            wheel.schedule(taskId, toEpochMillis(remainderTime));
+        }
+    }
+
+    public void cancelReminder(Integer taskId) {
+        synchronized (wheel) {
+            wheel.cancel(taskId);
+        }
+    }
+
+    private void onTick() {
+        List<Integer> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), expired::add);
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        try {
+            reminderMetricsService.timeScan(() -> enqueueFired(expired));
+        } catch (Exception e) {
+            // Never let an exception escape, it would cancel the ticker
+            logger.error("Failed to enqueue due reminders: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claims up to one page of the user's due reminders and queues them for
+     * delivery. Returns the number of reminders queued.
+     */
+    public int enqueueDueReminders(Integer userId) {
+        int queued = claim(now -> taskRepository.lockClaimableRemindersForUser(userId, now, PageRequest.of(0, scanBatchSize)), true);
+        if (queued > 0) {
+            notificationRelayService.wake();
+        }
+        return queued;
+    }
+
+    /**
+     * Queues the reminders that just fired in the wheel, claiming them by
+     * task id reminder.scan.batch-size at a time, so the cost depends on how
+     * many reminders fired, not on table size or on how many users are
+     * online. Reminders another node claimed first, or that were changed
+     * since they were scheduled, are not matched and are skipped.
+     */
+    private void enqueueFired(List<Integer> taskIds) {
+        int dueCount = 0;
+        for (int from = 0; from < taskIds.size(); from += scanBatchSize) {
+            List<Integer> chunk = taskIds.subList(from, Math.min(from + scanBatchSize, taskIds.size()));
+            dueCount += claim(now -> taskRepository.lockClaimableReminders(chunk, now), false);
+        }
+
+        if (dueCount > 0) {
+            notificationRelayService.wake();
+        }
+        logger.info("Queued {} of {} fired reminders", dueCount, taskIds.size());
+    }
+
+    /**
+     * Locks a page of due reminders, marks them sent in bulk chunks of
+     * reminder.sent-flush.chunk-size and writes one outbox row per reminder,
+     * all in one short transaction. replayed marks the rows as queued by a
+     * subscribe replay, so their lag is measured apart from live reminders.
+     */
+    private int claim(Function<LocalDateTime, List<TaskEntity>> lockQuery, boolean replayed) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskEntity> dueTasks = lockQuery.apply(now);
+            if (dueTasks.isEmpty()) {
+                return 0;
+            }
+
+            List<Integer> taskIds = dueTasks.stream().map(TaskEntity::getTaskId).toList();
+            for (int from = 0; from < taskIds.size(); from += sentFlushChunkSize) {
+                taskRepository.markRemindersSent(taskIds.subList(from, Math.min(from + sentFlushChunkSize, taskIds.size())));
+            }
+            outboxRepository.saveAll(dueTasks.stream().map(task -> toOutboxRow(task, now, replayed)).toList());
+            return dueTasks.size();
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private int forEachUpcomingPage(LocalDateTime from, LocalDateTime until, Consumer<List<TaskEntity>> action) {
+        Pageable page = PageRequest.of(0, scanBatchSize);
+        int count = 0;
 
-        // Find all tasks where:
-        // - isRemainder is true
-        // - remainderTime is <= now
-        // - reminderSent is false or null
-        List<TaskEntity> dueTasks = taskRepository.findAll().stream()
-                .filter(task -> Boolean.TRUE.equals(task.getIsRemainder()))
-                .filter(task -> task.getRemainderTime() != null)
-                .filter(task -> task.getRemainderTime().isBefore(now) || task.getRemainderTime().isEqual(now))
-                .filter(task -> !Boolean.TRUE.equals(task.getReminderSent()))
-                .toList();
-
-        logger.info("Found {} due reminders", dueTasks.size());
-
-        for (TaskEntity task : dueTasks) {
-            try {
-                // Create notification DTO
-                NotificationDTO notification = new NotificationDTO(
-                        "TASK_REMINDER",
-                        task.getTaskId(),
-                        task.getTopic(),
-                        "Reminder: Your task \"" + task.getTopic() + "\" is coming up!",
-                        LocalDateTime.now());
-
-                // Send WebSocket notification to user's personal queue
-                String destination = "/queue/user/" + task.getUser().getUserId() + "/notifications";
-                messagingTemplate.convertAndSend(destination, notification);
-
-                logger.info("Sent reminder notification for task {} to user {}",
-                        task.getTaskId(), task.getUser().getUserId());
-
-                // Mark reminder as sent
-                task.setReminderSent(true);
-                taskRepository.save(task);
-
-            } catch (Exception e) {
-                logger.error("Failed to send reminder for task {}: {}",
-                        task.getTaskId(), e.getMessage(), e);
+        List<TaskEntity> dueTasks = taskRepository.findUpcomingReminders(from, until, page);
+        while (!dueTasks.isEmpty()) {
+            count += dueTasks.size();
+            action.accept(dueTasks);
+
+            if (dueTasks.size() < scanBatchSize) {
+                break;
             }
+
+            // Continue after the last row seen rather than paging by offset
+            TaskEntity last = dueTasks.get(dueTasks.size() - 1);
+            dueTasks = taskRepository.findUpcomingRemindersAfter(from, until, last.getRemainderTime(), last.getTaskId(), page);
         }
+        return count;
+    }
+
+    private NotificationOutboxEntity toOutboxRow(TaskEntity task, LocalDateTime now, boolean replayed) {
+        NotificationOutboxEntity row = new NotificationOutboxEntity();
+        row.setUserId(task.getUser().getUserId());
+        row.setType("TASK_REMINDER");
+        row.setTaskId(task.getTaskId());
+        row.setTopic(task.getTopic());
+        row.setMessage("Reminder: Your task \"" + task.getTopic() + "\" is coming up!");
+        row.setCreateTime(now);
+        row.setDueTime(task.getRemainderTime());
+        row.setReplayed(replayed);
+        // Unrouted rows wait for the relay of whichever node the user is connected to
+        row.setNodeId(presenceService.isOnline(task.getUser().getUserId()) ? notificationRelayService.getNodeId() : null);
+        return row;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 }
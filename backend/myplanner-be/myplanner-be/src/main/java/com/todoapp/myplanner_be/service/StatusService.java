@@ -1,25 +1,102 @@
 package com.todoapp.myplanner_be.service;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.todoapp.myplanner_be.dto.status.StatusDTO;
 import com.todoapp.myplanner_be.entity.StatusEntity;
+import com.todoapp.myplanner_be.exception.ResourceNotFoundException;
 import com.todoapp.myplanner_be.repository.StatusRepository;
+import com.todoapp.myplanner_be.response.ApiResponse;
 
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Registry of task statuses, loaded once at startup.
+ *
+ * The status table holds a handful of rows that change only with a
+ * deployment, so task writes look statuses up in an array indexed by
+ * statusId instead of querying, and /api/status/all is served from a
+ * response serialized at load time. Call refresh() after changing the
+ * status table to pick up the new rows without a restart.
+ *
+ * The StatusEntity instances handed out are detached and shared between
+ * requests; only use them as references and for reading.
+ */
 @Service
 public class StatusService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StatusService.class);
+
+    /**
+     * The /api/status/all response as JSON bytes, with its strong ETag.
+     * The ETag is a hash of the body, so it is equal on every instance
+     * that has the same statuses loaded.
+     */
+    public record SerializedStatuses(byte[] body, String etag) {
+    }
+
+    private record Registry(StatusEntity[] byId, List<StatusDTO> statuses, SerializedStatuses response) {
+    }
+
     @Autowired
     private StatusRepository statusRepository;
 
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private volatile Registry registry;
+
+    /**
+     * Reloads every status from the database and swaps the new registry in.
+     */
+    @PostConstruct
+    public void refresh() {
+        List<StatusEntity> statusEntities = statusRepository.findAll();
+
+        // Byte ids index the array as unsigned values
+        StatusEntity[] byId = new StatusEntity[256];
+        for (StatusEntity status : statusEntities) {
+            byId[Byte.toUnsignedInt(status.getStatusId())] = status;
+        }
+        List<StatusDTO> statuses = statusEntities.stream()
+            .map(status -> new StatusDTO(status.getStatusId(), status.getStatusName()))
+            .toList();
+
+        byte[] responseBody = jsonMapper.writeValueAsBytes(
+            ApiResponse.success(statuses, "Statuses retrieved successfully"));
+        String etag = "\"statuses-" + Integer.toHexString(Arrays.hashCode(responseBody)) + "\"";
+
+        registry = new Registry(byId, statuses, new SerializedStatuses(responseBody, etag));
+        logger.info("Loaded {} task statuses", statuses.size());
+    }
+
     public List<StatusDTO> getAllStatuses() {
-    List<StatusEntity> statusEntities = statusRepository.findAll();
-    return statusEntities.stream()
-        .map(status -> new StatusDTO(status.getStatusId(), status.getStatusName()))
-        .collect(Collectors.toList());
-}
+        return registry.statuses();
+    }
+
+    /**
+     * The status with this id, or null if there is none.
+     */
+    public StatusEntity findStatus(Byte statusId) {
+        return statusId != null ? registry.byId()[Byte.toUnsignedInt(statusId)] : null;
+    }
+
+    public StatusEntity getStatus(Byte statusId) {
+        StatusEntity status = findStatus(statusId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Status not found");
+        }
+        return status;
+    }
+
+    public SerializedStatuses getAllStatusesResponse() {
+        return registry.response();
+    }
 }
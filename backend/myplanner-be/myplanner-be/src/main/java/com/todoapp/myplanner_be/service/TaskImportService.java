@@ -0,0 +1,228 @@
+package com.todoapp.myplanner_be.service;
+
+import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskImportResultDTO;
+import com.todoapp.myplanner_be.entity.CategoryList;
+import com.todoapp.myplanner_be.entity.StatusEntity;
+import com.todoapp.myplanner_be.entity.TaskEntity;
+import com.todoapp.myplanner_be.entity.UserEntity;
+import com.todoapp.myplanner_be.exception.ResourceNotFoundException;
+import com.todoapp.myplanner_be.repository.CategoryListRepository;
+import com.todoapp.myplanner_be.repository.UserRepository;
+import com.todoapp.myplanner_be.util.ValidationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.InputCoercionException;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvReadFeature;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of tasks from CSV (with a header row naming CreateTaskDTO
+ * fields) or JSON (an array or newline-delimited objects).
+ *
+ * Rows are parsed one at a time and checked against the status registry
+ * and a category map loaded once per import, so a row costs no lookups. Valid rows are
+ * inserted task.import.batch-size at a time, each batch in its own
+ * transaction as one JDBC batch. A batch takes consecutive taskVersions
+ * and updates the day summary in the same transaction, as single task
+ * writes do. Invalid rows, including values of the wrong type or format,
+ * are skipped and reported. Only a document that can no longer be parsed
+ * stops the import, keeping the batches already committed.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    // Skipped rows whose reasons are returned to the caller
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvReadFeature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatusService statusService;
+
+    @Autowired
+    private CategoryListRepository categoryListRepository;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    @Autowired
+    private ReminderSchedulerService reminderSchedulerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${task.import.batch-size:500}")
+    private int batchSize;
+
+    public TaskImportResultDTO importTasks(Integer userId, InputStream in, boolean csv) {
+        long started = System.nanoTime();
+
+        UserEntity user = userRepository.getReferenceById(userId);
+        Map<Integer, CategoryList> categories = categoryListRepository.findByUser_UserId(userId).stream()
+                .collect(Collectors.toMap(CategoryList::getCategoryId, Function.identity()));
+
+        int row = 0;
+        int imported = 0;
+        int skipped = 0;
+        List<String> errors = new ArrayList<>();
+        List<TaskEntity> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<CreateTaskDTO> rows = open(in, csv)) {
+            while (rows.hasNext()) {
+                row++;
+                try {
+                    batch.add(toTask(rows.next(), user, categories));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("Row " + row + ": " + e.getMessage());
+                    }
+                } catch (DatabindException | InputCoercionException e) {
+                    // The row was read but a value did not fit its field; the iterator skips to the next row
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("Row " + row + ": " + e.getOriginalMessage());
+                    }
+                }
+                if (batch.size() == batchSize) {
+                    insertBatch(userId, batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed import at row " + (row + 1) + " after "
+                    + imported + " tasks were imported: " + e.getOriginalMessage());
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(userId, batch);
+            imported += batch.size();
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        long rowsPerSecond = imported * 1000L / elapsedMillis;
+        logger.info("Imported {} tasks for user {} in {} ms ({} rows/s), skipped {}",
+                imported, userId, elapsedMillis, rowsPerSecond, skipped);
+        return new TaskImportResultDTO(imported, skipped, errors, elapsedMillis, rowsPerSecond);
+    }
+
+    private MappingIterator<CreateTaskDTO> open(InputStream in, boolean csv) {
+        if (csv) {
+            return CSV_MAPPER.readerFor(CreateTaskDTO.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(in);
+        }
+        // Reads the elements of a top-level array, or a sequence of root-level objects
+        return jsonMapper.readerFor(CreateTaskDTO.class).readValues(in);
+    }
+
+    /**
+     * Checks one row against CreateTaskDTO's constraints, the status
+     * registry and the user's preloaded categories.
+     */
+    private TaskEntity toTask(CreateTaskDTO dto, UserEntity user, Map<Integer, CategoryList> categories) {
+        ValidationUtil.validate(validator, dto);
+
+        StatusEntity status = statusService.findStatus(dto.getStatusId());
+        if (status == null) {
+            throw new IllegalArgumentException("Status not found");
+        }
+
+        // Only the user's own categories are loaded, so a missing one is either unknown or someone else's
+        CategoryList category = null;
+        if (dto.getCategoryId() != null) {
+            category = categories.get(dto.getCategoryId());
+            if (category == null) {
+                throw new IllegalArgumentException("Category not found");
+            }
+        }
+
+        if (Boolean.TRUE.equals(dto.getIsRemainder()) && dto.getRemainderTime() == null) {
+            throw new IllegalArgumentException("Reminder time is required when reminder is enabled");
+        }
+
+        TaskEntity task = new TaskEntity();
+        task.setTopic(dto.getTopic().trim());
+        task.setDescription(dto.getDescription() != null ? dto.getDescription().trim() : null);
+        task.setStatus(status);
+        task.setCategory(category);
+        task.setStartTime(dto.getStartTime());
+        task.setEndTime(dto.getEndTime());
+        task.setIsRemainder(dto.getIsRemainder());
+        task.setRemainderTime(Boolean.TRUE.equals(dto.getIsRemainder()) ? dto.getRemainderTime() : null);
+        task.setReminderSent(Boolean.TRUE.equals(dto.getIsRemainder()) ? false : null);
+        task.setUser(user);
+
+        LocalDateTime now = LocalDateTime.now();
+        task.setCreateTime(now);
+        task.setLastUpdateTime(now);
+        return task;
+    }
+
+    /**
+     * Inserts one batch in a single transaction. The user row stays locked
+     * from the version bump until commit, as in TaskService.saveVersioned.
+     */
+    private void insertBatch(Integer userId, List<TaskEntity> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+            Long reserved = userRepository.reserveTaskVersions(userId, batch.size());
+            if (reserved == null) {
+                throw new ResourceNotFoundException("User not found");
+            }
+            long version = reserved - batch.size();
+            for (TaskEntity task : batch) {
+                task.setChangeVersion(++version);
+                entityManager.persist(task);
+            }
+            taskSummaryService.recordAdded(userId, batch);
+
+            // Send the inserts as one batch and keep the persistence context from growing across batches
+            entityManager.flush();
+            entityManager.clear();
+        });
+
+        // Listing pages and the interval index see the new taskVersion and reload on their next query
+        for (TaskEntity task : batch) {
+            reminderSchedulerService.scheduleReminder(task);
+        }
+    }
+}
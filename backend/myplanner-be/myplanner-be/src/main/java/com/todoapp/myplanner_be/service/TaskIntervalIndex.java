@@ -0,0 +1,196 @@
+package com.todoapp.myplanner_be.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.repository.TaskRepository;
+import com.todoapp.myplanner_be.repository.UserRepository;
+import com.todoapp.myplanner_be.util.IntervalTree;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user interval trees of task [startTime, endTime] ranges, answering
+ * overlap and "active at" queries in O(log n + k).
+ *
+ * A user's tree is loaded on their first overlap query and evicted after
+ * task.interval-index.expire-minutes without use, or when the total number
+ * of indexed tasks passes task.interval-index.max-weight. A task with only
+ * one of its times set is indexed as a single instant.
+ *
+ * Each tree is tagged with the user's taskVersion. TaskService applies its
+ * own writes to a loaded tree in place; a query that finds the tree behind
+ * the database version (a write on another instance, or a missed update)
+ * reloads it.
+ */
+@Service
+public class TaskIntervalIndex {
+
+    private static final long MAX_KEY_SECONDS = Long.MAX_VALUE / 1_000_000L - 1;
+
+    private record Snapshot(long version, IntervalTree<TaskResponseDTO> tree) {
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.interval-index.max-weight:200000}")
+    private long maxWeight;
+
+    @Value("${task.interval-index.expire-minutes:30}")
+    private long expireMinutes;
+
+    private Cache<Integer, Snapshot> trees;
+
+    @PostConstruct
+    public void createCache() {
+        trees = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Integer userId, Snapshot snapshot) -> snapshot.tree().size() + 1)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, trees, "task.interval");
+    }
+
+    /**
+     * The user's live tasks whose time range overlaps [from, to], ordered
+     * by the start of their range.
+     */
+    public List<TaskResponseDTO> findOverlapping(Integer userId, LocalDateTime from, LocalDateTime to) {
+        Long version = userRepository.findTaskVersion(userId);
+        Snapshot snapshot = trees.getIfPresent(userId);
+        if (snapshot == null || version == null || snapshot.version() != version) {
+            Snapshot loaded = load(userId);
+            // Keep whichever is newer if a write landed while loading
+            snapshot = trees.asMap().merge(userId, loaded,
+                    (current, fresh) -> current.version() >= fresh.version() ? current : fresh);
+        }
+
+        return snapshot.tree().overlapping(toKey(from), toKey(to));
+    }
+
+    /**
+     * Whether the user has a tree in memory, so writers know if taskWritten
+     * has anything to update. Does not count as a use of the tree.
+     */
+    public boolean isLoaded(Integer userId) {
+        return trees.asMap().containsKey(userId);
+    }
+
+    /**
+     * Applies a task create or update saved at the given taskVersion.
+     */
+    public void taskWritten(Integer userId, long version, TaskResponseDTO task) {
+        trees.asMap().computeIfPresent(userId, (id, snapshot) -> {
+            if (snapshot.version() != version - 1) {
+                // Missed a write; drop the tree so the next query reloads it
+                return snapshot.version() >= version ? snapshot : null;
+            }
+            IntervalTree<TaskResponseDTO> tree = task.getStartTime() == null && task.getEndTime() == null
+                    ? snapshot.tree().without(task.getTaskId())
+                    : withTask(snapshot.tree(), task);
+            return new Snapshot(version, tree);
+        });
+    }
+
+    /**
+     * Applies a task delete saved at the given taskVersion.
+     */
+    public void taskDeleted(Integer userId, long version, Integer taskId) {
+        trees.asMap().computeIfPresent(userId, (id, snapshot) -> {
+            if (snapshot.version() != version - 1) {
+                return snapshot.version() >= version ? snapshot : null;
+            }
+            return new Snapshot(version, snapshot.tree().without(taskId));
+        });
+    }
+
+    /**
+     * Applies the writes of one task batch, saved at consecutive
+     * taskVersions from firstVersion, as a single tree update. writes maps
+     * each written task id to its last state, or to null if the batch
+     * deleted it.
+     */
+    public void tasksWritten(Integer userId, long firstVersion, long lastVersion, Map<Integer, TaskResponseDTO> writes) {
+        trees.asMap().computeIfPresent(userId, (id, snapshot) -> {
+            if (snapshot.version() != firstVersion - 1) {
+                return snapshot.version() >= lastVersion ? snapshot : null;
+            }
+            List<IntervalTree.Update<TaskResponseDTO>> updates = new ArrayList<>(writes.size());
+            writes.forEach((taskId, task) -> {
+                if (task == null || (task.getStartTime() == null && task.getEndTime() == null)) {
+                    updates.add(IntervalTree.Update.remove(taskId));
+                } else {
+                    long[] range = rangeOf(task);
+                    updates.add(IntervalTree.Update.put(taskId, range[0], range[1], task));
+                }
+            });
+            return new Snapshot(lastVersion, snapshot.tree().withUpdates(updates));
+        });
+    }
+
+    private Snapshot load(Integer userId) {
+        // Read the version and the tasks in one transaction so they describe the same state
+        return transactionTemplate.execute(status -> {
+            Long version = userRepository.findTaskVersion(userId);
+            List<TaskResponseDTO> tasks = taskRepository.findScheduledByUserId(userId);
+
+            List<Long> ids = new ArrayList<>(tasks.size());
+            List<Long> starts = new ArrayList<>(tasks.size());
+            List<Long> ends = new ArrayList<>(tasks.size());
+            for (TaskResponseDTO task : tasks) {
+                long[] range = rangeOf(task);
+                ids.add((long) task.getTaskId());
+                starts.add(range[0]);
+                ends.add(range[1]);
+            }
+            return new Snapshot(version != null ? version : 0L, IntervalTree.of(ids, starts, ends, tasks));
+        });
+    }
+
+    private static IntervalTree<TaskResponseDTO> withTask(IntervalTree<TaskResponseDTO> tree, TaskResponseDTO task) {
+        long[] range = rangeOf(task);
+        return tree.with(task.getTaskId(), range[0], range[1], task);
+    }
+
+    private static long[] rangeOf(TaskResponseDTO task) {
+        long start = toKey(task.getStartTime() != null ? task.getStartTime() : task.getEndTime());
+        long end = toKey(task.getEndTime() != null ? task.getEndTime() : task.getStartTime());
+        return new long[]{start, Math.max(start, end)};
+    }
+
+    // Microseconds since the epoch, exact for every DATETIME MySQL can store (years 1000-9999).
+    // Query bounds beyond about +-292,000 years saturate, which still orders them past every task.
+    private static long toKey(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= MAX_KEY_SECONDS) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= -MAX_KEY_SECONDS) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1_000_000L + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.myplanner_be.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.myplanner_be.dto.task.TaskPageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of task listing pages, keyed by user and query.
+ *
+ * Capacity is bounded by weight (cached tasks) rather than entry count, so
+ * memory stays capped however large the pages are, and entries expire after
+ * task.cache.ttl-seconds. Caffeine's frequency-based admission keeps a few
+ * users paging through large histories from evicting everyone else's hot
+ * pages. Hit, miss and eviction counts are published as cache.* meters
+ * tagged cache=task.listing.
+ *
+ * Pages are keyed by the user's taskVersion, the counter every task write
+ * bumps and the listing ETag is built from, so writes need no invalidation:
+ * the next request reads the new version and misses, and old pages age
+ * out. A page is stored under the version it was read at, so a load that
+ * raced with a write can never be served for a version it does not show.
+ */
+@Service
+public class TaskListingCache {
+
+    /**
+     * A listing page and the taskVersion it was read at.
+     */
+    public record VersionedPage(Long version, TaskPageDTO page) {
+    }
+
+    private record PageKey(Integer userId, Long version, LocalDateTime startDate, LocalDateTime endDate,
+                           boolean overlap, String cursor, int limit) {
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.cache.max-weight:100000}")
+    private long maxWeight;
+
+    @Value("${task.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<PageKey, TaskPageDTO> pages;
+
+    @PostConstruct
+    public void createCache() {
+        pages = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((PageKey key, TaskPageDTO page) -> page.getTasks().size() + 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "task.listing");
+    }
+
+    /**
+     * The page as of the user's taskVersion version. On a miss, loader
+     * reads the page together with the version it reflects, and the page is
+     * cached under that version.
+     */
+    public VersionedPage get(Integer userId, Long version, LocalDateTime startDate, LocalDateTime endDate,
+                             boolean overlap, String cursor, int limit, Supplier<VersionedPage> loader) {
+        TaskPageDTO cached = pages.getIfPresent(new PageKey(userId, version, startDate, endDate, overlap, cursor, limit));
+        if (cached != null) {
+            return new VersionedPage(version, cached);
+        }
+
+        VersionedPage loaded = loader.get();
+        pages.put(new PageKey(userId, loaded.version(), startDate, endDate, overlap, cursor, limit), loaded.page());
+        return loaded;
+    }
+}
@@ -1,13 +1,36 @@
 package com.todoapp.myplanner_be.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchOperationDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchResultDTO;
+import com.todoapp.myplanner_be.dto.task.TaskChangesDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPageDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
 import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
 import com.todoapp.myplanner_be.dto.task.UpdateTaskDTO;
 import com.todoapp.myplanner_be.entity.CategoryList;
@@ -16,13 +39,26 @@ import com.todoapp.myplanner_be.entity.TaskEntity;
 import com.todoapp.myplanner_be.entity.UserEntity;
 import com.todoapp.myplanner_be.exception.ResourceNotFoundException;
 import com.todoapp.myplanner_be.repository.CategoryListRepository;
-import com.todoapp.myplanner_be.repository.StatusRepository;
 import com.todoapp.myplanner_be.repository.TaskRepository;
 import com.todoapp.myplanner_be.repository.UserRepository;
+import com.todoapp.myplanner_be.service.TaskListingCache.VersionedPage;
+import com.todoapp.myplanner_be.util.SyncToken;
+import com.todoapp.myplanner_be.util.TaskCursor;
+import com.todoapp.myplanner_be.util.ValidationUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
 
 @Service
 public class TaskService {
     
+    // Listing order; MySQL sorts NULL first, so tasks without a start time lead
+    private static final Comparator<TaskResponseDTO> PAGE_ORDER = Comparator
+        .comparing(TaskResponseDTO::getStartTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(TaskResponseDTO::getTaskId);
+    
     @Autowired
     private TaskRepository taskRepository;
     
@@ -30,35 +66,71 @@ public class TaskService {
     private UserRepository userRepository;
     
     @Autowired
-    private StatusRepository statusRepository;
+    private StatusService statusService;
     
     @Autowired
     private CategoryListRepository categoryListRepository;
     
+    @Autowired
+    private ReminderSchedulerService reminderSchedulerService;
+    
+    @Autowired
+    private TaskListingCache taskListingCache;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private TaskIntervalIndex taskIntervalIndex;
+    
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${task.interval-index.enabled:true}")
+    private boolean intervalIndexEnabled;
+    
+    @Value("${task.page.default-limit:100}")
+    private int defaultPageSize;
+    
+    @Value("${task.page.max-limit:500}")
+    private int maxPageSize;
+    
+    @Value("${task.batch.max-operations:500}")
+    private int maxBatchOperations;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // A task as read back in the transaction that wrote it at version
+    private record VersionedTask(long version, TaskResponseDTO task) {
+    }
+    
+    // A task written by a batch operation, with its DTO at that version; null for a delete
+    private record BatchWrite(TaskEntity entity, long version, TaskResponseDTO task) {
+    }
+    
     public TaskEntity createTask(CreateTaskDTO createTaskDTO, Integer userId) {
         // Validate topic
         if (createTaskDTO.getTopic() == null || createTaskDTO.getTopic().trim().isEmpty()) {
             throw new IllegalArgumentException("Task topic is required");
         }
         
-        // Check if user exists
-        UserEntity user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // The user id comes from a verified token, so a proxy is enough; the version bump confirms the user exists
+        UserEntity user = userRepository.getReferenceById(userId);
         
         // Check if status exists
-        StatusEntity status = statusRepository.findById(createTaskDTO.getStatusId())
-            .orElseThrow(() -> new ResourceNotFoundException("Status not found"));
+        StatusEntity status = statusService.getStatus(createTaskDTO.getStatusId());
         
-        // Check if category exists (if provided)
+        // Check if category exists and belongs to the user (if provided); the only read before the insert
         CategoryList category = null;
         if (createTaskDTO.getCategoryId() != null) {
-            category = categoryListRepository.findById(createTaskDTO.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-            
-            // Verify category belongs to the user
-            if (!category.getUser().getUserId().equals(userId)) {
-                throw new IllegalArgumentException("Category does not belong to the user");
-            }
+            category = ownedCategory(createTaskDTO.getCategoryId(), userId);
         }
         
         // Validate reminder logic
@@ -76,6 +148,7 @@ public class TaskService {
         task.setEndTime(createTaskDTO.getEndTime());
         task.setIsRemainder(createTaskDTO.getIsRemainder());
         task.setRemainderTime(createTaskDTO.getRemainderTime());
+        task.setReminderSent(Boolean.TRUE.equals(createTaskDTO.getIsRemainder()) ? false : null);
         task.setUser(user);
         
         // Set timestamps automatically
@@ -83,24 +156,26 @@ public class TaskService {
         task.setCreateTime(now);
         task.setLastUpdateTime(now);
         
-        // Save and return
-        return taskRepository.save(task);
+        // Save, then hand the reminder to the scheduler
+        TaskEntity savedTask = saveVersioned(task, userId, null, null);
+        taskIntervalIndex.taskWritten(userId, task.getChangeVersion(), convertToDTO(task));
+        reminderSchedulerService.scheduleReminder(savedTask);
+        return savedTask;
     }
     
-    public TaskEntity updateTask(UpdateTaskDTO updateTaskDTO, Integer userId) {
+    /**
+     * Rewrites a task in a single conditional UPDATE that also checks the
+     * task is live and belongs to the user, without loading it first.
+     * When no row matches, the transaction is rolled back and one lookup
+     * picks the not-found or not-owned error. The written task is read back
+     * only when the user's interval tree is loaded and needs it.
+     */
+    public void updateTask(UpdateTaskDTO updateTaskDTO, Integer userId) {
         // Validate task ID
         if (updateTaskDTO.getTaskId() == null) {
             throw new IllegalArgumentException("Task ID is required");
         }
-        
-        // Find existing task
-        TaskEntity task = taskRepository.findById(updateTaskDTO.getTaskId())
-            .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        
-        // Verify task belongs to the user (from token)
-        if (!task.getUser().getUserId().equals(userId)) {
-            throw new IllegalArgumentException("Task does not belong to the user");
-        }
+        Integer taskId = updateTaskDTO.getTaskId();
         
         // Validate topic
         if (updateTaskDTO.getTopic() == null || updateTaskDTO.getTopic().trim().isEmpty()) {
@@ -108,19 +183,12 @@ public class TaskService {
         }
         
         // Check if status exists
-        StatusEntity status = statusRepository.findById(updateTaskDTO.getStatusId())
-            .orElseThrow(() -> new ResourceNotFoundException("Status not found"));
+        StatusEntity status = statusService.getStatus(updateTaskDTO.getStatusId());
         
-        // Check if category exists (if provided)
+        // Check if category exists and belongs to the user (if provided)
         CategoryList category = null;
         if (updateTaskDTO.getCategoryId() != null) {
-            category = categoryListRepository.findById(updateTaskDTO.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-            
-            // Verify category belongs to the user
-            if (!category.getUser().getUserId().equals(userId)) {
-                throw new IllegalArgumentException("Category does not belong to the user");
-            }
+            category = ownedCategory(updateTaskDTO.getCategoryId(), userId);
         }
         
         // Validate reminder logic - if isRemainder is false/null, set remainderTime to null
@@ -132,53 +200,506 @@ public class TaskService {
             remainderTime = updateTaskDTO.getRemainderTime();
         }
         
-        // Update task fields
-        task.setTopic(updateTaskDTO.getTopic().trim());
-        task.setDescription(updateTaskDTO.getDescription() != null ? updateTaskDTO.getDescription().trim() : null);
-        task.setStatus(status);
-        task.setCategory(category);
-        task.setStartTime(updateTaskDTO.getStartTime());
-        task.setEndTime(updateTaskDTO.getEndTime());
-        task.setIsRemainder(updateTaskDTO.getIsRemainder());
-        task.setRemainderTime(remainderTime);
-
-        // Reset reminderSent when reminder settings change so the scheduler can re-send
-        if (Boolean.TRUE.equals(updateTaskDTO.getIsRemainder()) && remainderTime != null) {
-            task.setReminderSent(false);
+        // Reset reminderSent when a reminder is set so the scheduler can re-send
+        Boolean reminderSent = remainderTime != null ? false : null;
+        String topic = updateTaskDTO.getTopic().trim();
+        String description = updateTaskDTO.getDescription() != null ? updateTaskDTO.getDescription().trim() : null;
+        CategoryList newCategory = category;
+        LocalDateTime newRemainderTime = remainderTime;
+        
+        // A tree loaded after this check is behind the new version, so its next query reloads it
+        boolean indexed = intervalIndexEnabled && taskIntervalIndex.isLoaded(userId);
+        
+        // createTime is NOT updated (remains the same); only lastUpdateTime moves
+        VersionedTask updated = transactionTemplate.execute(txStatus -> {
+            long version = nextTaskVersion(userId);
+            
+            // Uncount the task at its old day and status while the row still has them
+            taskSummaryService.removeTask(userId, taskId);
+            int rows = taskRepository.updateOwned(taskId, userId, topic, description, status, newCategory,
+                updateTaskDTO.getStartTime(), updateTaskDTO.getEndTime(), updateTaskDTO.getIsRemainder(),
+                newRemainderTime, reminderSent, LocalDateTime.now(), version);
+            if (rows == 0) {
+                throw writeRejected(taskId, "Task not found");
+            }
+            taskSummaryService.recordMove(userId, null, null,
+                TaskSummaryService.dayOf(updateTaskDTO.getStartTime(), updateTaskDTO.getEndTime()), status.getStatusId());
+            return new VersionedTask(version, indexed ? taskRepository.findResponseById(taskId) : null);
+        });
+        
+        // Then move or drop the reminder in the scheduler
+        if (updated.task() != null) {
+            taskIntervalIndex.taskWritten(userId, updated.version(), updated.task());
+        }
+        reminderSchedulerService.scheduleReminder(taskId, newRemainderTime);
+    }
+    
+    /**
+     * Applies only the fields present in the patch. The task is loaded with
+     * its status and category in one query and, being @DynamicUpdate, is
+     * written with an UPDATE of just the changed columns. Its @Version turns
+     * a concurrent write, or a patch based on an older version, into a 409
+     * instead of a lost update.
+     */
+    public TaskResponseDTO patchTask(Integer taskId, TaskPatchDTO patch, Integer userId) {
+        // Validate topic
+        if (patch.getTopic() != null && patch.getTopic().trim().isEmpty()) {
+            throw new IllegalArgumentException("Task topic is required");
+        }
+        
+        // Resolve only the references being changed; statuses come from the registry
+        StatusEntity newStatus = patch.getStatusId() != null ? statusService.getStatus(patch.getStatusId()) : null;
+        CategoryList newCategory = patch.getCategoryId() != null && patch.getCategoryId().isPresent()
+            ? ownedCategory(patch.getCategoryId().get(), userId)
+            : null;
+        boolean reminderPatched = patch.getIsRemainder() != null || patch.getRemainderTime() != null;
+        
+        VersionedTask patched = transactionTemplate.execute(txStatus -> {
+            long version = nextTaskVersion(userId);
+            
+            TaskEntity task = taskRepository.findWithStatusAndCategoryByTaskIdAndDeletedFalse(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+            
+            // Verify task belongs to the user (from token)
+            if (!task.getUser().getUserId().equals(userId)) {
+                throw new IllegalArgumentException("Task does not belong to the user");
+            }
+            if (patch.getVersion() != null && !patch.getVersion().equals(task.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(TaskEntity.class, taskId);
+            }
+            
+            // Remember where the task was counted in the summary before it moves
+            LocalDate previousDay = TaskSummaryService.dayOf(task.getStartTime(), task.getEndTime());
+            Byte previousStatusId = task.getStatus().getStatusId();
+            
+            if (patch.getTopic() != null) {
+                task.setTopic(patch.getTopic().trim());
+            }
+            if (patch.getDescription() != null) {
+                task.setDescription(patch.getDescription().map(String::trim).orElse(null));
+            }
+            if (newStatus != null) {
+                task.setStatus(newStatus);
+            }
+            if (patch.getCategoryId() != null) {
+                task.setCategory(newCategory);
+            }
+            if (patch.getStartTime() != null) {
+                task.setStartTime(patch.getStartTime().orElse(null));
+            }
+            if (patch.getEndTime() != null) {
+                task.setEndTime(patch.getEndTime().orElse(null));
+            }
+            
+            // Reminder fields are checked together against the task's current values
+            if (reminderPatched) {
+                boolean reminder = patch.getIsRemainder() != null
+                    ? patch.getIsRemainder()
+                    : Boolean.TRUE.equals(task.getIsRemainder());
+                LocalDateTime remainderTime = patch.getRemainderTime() != null
+                    ? patch.getRemainderTime().orElse(null)
+                    : task.getRemainderTime();
+                if (reminder && remainderTime == null) {
+                    throw new IllegalArgumentException("Reminder time is required when reminder is enabled");
+                }
+                task.setIsRemainder(reminder);
+                task.setRemainderTime(reminder ? remainderTime : null);
+                task.setReminderSent(reminder ? false : null);
+            }
+            
+            task.setLastUpdateTime(LocalDateTime.now());
+            task.setChangeVersion(version);
+            taskSummaryService.recordMove(userId, previousDay, previousStatusId,
+                TaskSummaryService.dayOf(task.getStartTime(), task.getEndTime()), task.getStatus().getStatusId());
+            
+            // Flush now so the lock version in the response is the one just written
+            entityManager.flush();
+            return new VersionedTask(version, convertToDTO(task));
+        });
+        
+        taskIntervalIndex.taskWritten(userId, patched.version(), patched.task());
+        if (reminderPatched) {
+            TaskResponseDTO task = patched.task();
+            reminderSchedulerService.scheduleReminder(taskId, Boolean.TRUE.equals(task.getIsRemainder()) ? task.getRemainderTime() : null);
+        }
+        return patched.task();
+    }
+    
+    /**
+     * Tombstones a task in a single conditional UPDATE that also checks the
+     * task is live and belongs to the user, without loading it first.
+     */
+    public void deleteTask(Integer taskId, Integer userId) {
+        // Keep a tombstone for delta sync; the category is dropped so it can still be deleted
+        Long version = transactionTemplate.execute(txStatus -> {
+            long newVersion = nextTaskVersion(userId);
+            
+            // Uncount the task while it is still live
+            taskSummaryService.removeTask(userId, taskId);
+            if (taskRepository.softDeleteOwned(taskId, userId, LocalDateTime.now(), newVersion) == 0) {
+                throw writeRejected(taskId, "Task not found with id: " + taskId);
+            }
+            return newVersion;
+        });
+        
+        // Drop the tombstone's pending reminder
+        taskIntervalIndex.taskDeleted(userId, version, taskId);
+        reminderSchedulerService.cancelReminder(taskId);
+    }
+    
+    /**
+     * Error for a conditional task write that matched no row. Throwing it
+     * inside the write's transaction rolls back the version bump.
+     */
+    private RuntimeException writeRejected(Integer taskId, String notFoundMessage) {
+        if (taskRepository.findLiveOwnerId(taskId) == null) {
+            return new ResourceNotFoundException(notFoundMessage);
+        }
+        return new IllegalArgumentException("Task does not belong to the user");
+    }
+    
+    /**
+     * Loads a category in a single query that also confirms it belongs to
+     * the user; a second lookup only runs to pick the error message.
+     */
+    private CategoryList ownedCategory(Integer categoryId, Integer userId) {
+        return categoryListRepository.findByCategoryIdAndUser_UserId(categoryId, userId)
+            .orElseThrow(() -> categoryListRepository.existsById(categoryId)
+                ? new IllegalArgumentException("Category does not belong to the user")
+                : new ResourceNotFoundException("Category not found"));
+    }
+    
+    /**
+     * Applies a list of creates, updates and deletes in one transaction and
+     * reports each operation's outcome. Tasks and categories are resolved
+     * with one query each and statuses from the registry; operations that fail
+     * validation are reported and skipped while the rest are applied and
+     * flushed as JDBC batches. Applied operations take consecutive
+     * taskVersions in request order, so delta sync and the interval index
+     * see them as a sequence of single writes.
+     */
+    public List<TaskBatchResultDTO> applyBatch(Integer userId, List<TaskBatchOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("At least one operation is required");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new IllegalArgumentException("A batch must not exceed " + maxBatchOperations + " operations");
+        }
+        
+        List<TaskBatchResultDTO> results = new ArrayList<>(operations.size());
+        List<BatchWrite> writes = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(txStatus -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(maxBatchOperations);
+            
+            // Hold the user row first, as single writes do, so the loaded tasks cannot change underneath
+            if (userRepository.lockById(userId) == null) {
+                throw new ResourceNotFoundException("User not found");
+            }
+            long version = userRepository.findTaskVersion(userId);
+            
+            // Resolve every reference up front; statuses come from the in-memory registry
+            Set<Integer> taskIds = new HashSet<>();
+            Set<Integer> categoryIds = new HashSet<>();
+            for (TaskBatchOperationDTO operation : operations) {
+                if (operation.getTaskId() != null) {
+                    taskIds.add(operation.getTaskId());
+                }
+                if (operation.getTask() != null && operation.getTask().getCategoryId() != null) {
+                    categoryIds.add(operation.getTask().getCategoryId());
+                }
+            }
+            Map<Integer, TaskEntity> tasks = taskRepository.findByTaskIdInAndDeletedFalse(taskIds).stream()
+                .collect(Collectors.toMap(TaskEntity::getTaskId, Function.identity()));
+            Map<Integer, CategoryList> categories = categoryListRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(CategoryList::getCategoryId, Function.identity()));
+            UserEntity user = userRepository.getReferenceById(userId);
+            
+            List<TaskSummaryService.Move> moves = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                TaskBatchOperationDTO operation = operations.get(i);
+                try {
+                    TaskEntity task = applyOperation(operation, userId, user, tasks, categories, moves);
+                    task.setChangeVersion(++version);
+                    if (task.getTaskId() == null) {
+                        entityManager.persist(task);
+                        tasks.put(task.getTaskId(), task);
+                    }
+                    writes.add(new BatchWrite(task, task.getChangeVersion(),
+                        Boolean.TRUE.equals(task.getDeleted()) ? null : convertToDTO(task)));
+                    results.add(new TaskBatchResultDTO(i, task.getTaskId(), true, null));
+                } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                    results.add(new TaskBatchResultDTO(i, operation.getTaskId(), false, e.getMessage()));
+                }
+            }
+            
+            if (!writes.isEmpty()) {
+                userRepository.incrementTaskVersionBy(userId, writes.size());
+                taskSummaryService.recordMoves(userId, moves);
+                entityManager.flush();
+                
+                // Lock versions are bumped at flush; copy them onto the DTOs taken per operation
+                for (BatchWrite write : writes) {
+                    if (write.task() != null) {
+                        write.task().setVersion(write.entity().getVersion());
+                    }
+                }
+            }
+        });
+        
+        if (!writes.isEmpty()) {
+            // One tree update for the whole batch, with the last write per task
+            Map<Integer, TaskResponseDTO> latest = new HashMap<>();
+            for (BatchWrite write : writes) {
+                latest.put(write.entity().getTaskId(), write.task());
+            }
+            taskIntervalIndex.tasksWritten(userId, writes.get(0).version(), writes.get(writes.size() - 1).version(), latest);
+            // Last write per task wins in the reminder scheduler
+            for (BatchWrite write : writes) {
+                if (write.task() == null) {
+                    reminderSchedulerService.cancelReminder(write.entity().getTaskId());
+                } else {
+                    reminderSchedulerService.scheduleReminder(write.entity());
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Validates one batch operation against the preloaded references and
+     * applies it to a new or loaded task, recording its summary move.
+     */
+    private TaskEntity applyOperation(TaskBatchOperationDTO operation, Integer userId, UserEntity user,
+                                      Map<Integer, TaskEntity> tasks, Map<Integer, CategoryList> categories,
+                                      List<TaskSummaryService.Move> moves) {
+        ValidationUtil.validate(validator, operation);
+        String op = operation.getOp();
+        
+        TaskEntity task;
+        LocalDate previousDay = null;
+        Byte previousStatusId = null;
+        if ("create".equals(op)) {
+            task = new TaskEntity();
+            task.setUser(user);
+            task.setCreateTime(LocalDateTime.now());
         } else {
+            if (operation.getTaskId() == null) {
+                throw new IllegalArgumentException("Task ID is required");
+            }
+            task = tasks.get(operation.getTaskId());
+            // Earlier deletes in the same batch leave their task in the map
+            if (task == null || Boolean.TRUE.equals(task.getDeleted())) {
+                throw new ResourceNotFoundException("Task not found");
+            }
+            if (!task.getUser().getUserId().equals(userId)) {
+                throw new IllegalArgumentException("Task does not belong to the user");
+            }
+            previousDay = TaskSummaryService.dayOf(task.getStartTime(), task.getEndTime());
+            previousStatusId = task.getStatus().getStatusId();
+        }
+        
+        if ("delete".equals(op)) {
+            // Keep a tombstone for delta sync, as deleteTask does
+            task.setDeleted(true);
+            task.setCategory(null);
+            task.setIsRemainder(false);
+            task.setRemainderTime(null);
             task.setReminderSent(null);
+            task.setLastUpdateTime(LocalDateTime.now());
+            moves.add(new TaskSummaryService.Move(previousDay, previousStatusId, null, null));
+            return task;
         }
-
-        // createTime is NOT updated (remains the same)
-        // Only update lastUpdateTime
+        
+        // Create and update take the same fields
+        CreateTaskDTO fields = operation.getTask();
+        if (fields == null) {
+            throw new IllegalArgumentException("Task fields are required");
+        }
+        ValidationUtil.validate(validator, fields);
+        StatusEntity status = statusService.getStatus(fields.getStatusId());
+        CategoryList category = null;
+        if (fields.getCategoryId() != null) {
+            category = categories.get(fields.getCategoryId());
+            if (category == null) {
+                throw new ResourceNotFoundException("Category not found");
+            }
+            if (!category.getUser().getUserId().equals(userId)) {
+                throw new IllegalArgumentException("Category does not belong to the user");
+            }
+        }
+        boolean reminder = Boolean.TRUE.equals(fields.getIsRemainder());
+        if (reminder && fields.getRemainderTime() == null) {
+            throw new IllegalArgumentException("Reminder time is required when reminder is enabled");
+        }
+        
+        task.setTopic(fields.getTopic().trim());
+        task.setDescription(fields.getDescription() != null ? fields.getDescription().trim() : null);
+        task.setStatus(status);
+        task.setCategory(category);
+        task.setStartTime(fields.getStartTime());
+        task.setEndTime(fields.getEndTime());
+        task.setIsRemainder(fields.getIsRemainder());
+        task.setRemainderTime(reminder ? fields.getRemainderTime() : null);
+        task.setReminderSent(reminder ? false : null);
         task.setLastUpdateTime(LocalDateTime.now());
+        moves.add(new TaskSummaryService.Move(previousDay, previousStatusId,
+            TaskSummaryService.dayOf(task.getStartTime(), task.getEndTime()), status.getStatusId()));
+        return task;
+    }
+    
+    /**
+     * Saves the task stamped with the user's next taskVersion and moves its
+     * day summary count from previousDay/previousStatusId (null for a new
+     * task). The counter update locks the user row until commit, so a user's
+     * writes commit in version order and delta sync never skips one.
+     */
+    private TaskEntity saveVersioned(TaskEntity task, Integer userId, LocalDate previousDay, Byte previousStatusId) {
+        return transactionTemplate.execute(status -> {
+            task.setChangeVersion(nextTaskVersion(userId));
+            TaskEntity savedTask = taskRepository.save(task);
+            
+            LocalDate day = Boolean.TRUE.equals(task.getDeleted())
+                ? null
+                : TaskSummaryService.dayOf(task.getStartTime(), task.getEndTime());
+            taskSummaryService.recordMove(userId, previousDay, previousStatusId, day, task.getStatus().getStatusId());
+            return savedTask;
+        });
+    }
+    
+    /**
+     * Bumps the user's taskVersion and returns the new value in one
+     * statement. The UPDATE locks the user row until the caller's
+     * transaction commits.
+     */
+    private long nextTaskVersion(Integer userId) {
+        Long version = userRepository.reserveTaskVersions(userId, 1);
+        if (version == null) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return version;
+    }
+    
+    public TaskChangesDTO getChangesSince(Integer userId, String since) {
+        // Without a token, start before version 0, which tasks written before delta sync carry
+        SyncToken position = SyncToken.decode(since);
+        
+        // Fetch one extra row to learn whether more changes are waiting
+        List<TaskEntity> changes = taskRepository.findChangesSince(userId, position.getChangeVersion(), position.getTaskId(),
+            PageRequest.of(0, maxPageSize + 1));
+        boolean hasMore = changes.size() > maxPageSize;
+        if (hasMore) {
+            changes = changes.subList(0, maxPageSize);
+        }
+        
+        List<TaskResponseDTO> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        for (TaskEntity task : changes) {
+            if (Boolean.TRUE.equals(task.getDeleted())) {
+                deleted.add(task.getTaskId());
+            } else {
+                changed.add(convertToDTO(task));
+            }
+        }
         
-        // Save and return
-        return taskRepository.save(task);
+        // Continue after the last task returned, which may be partway through a changeVersion
+        if (!changes.isEmpty()) {
+            TaskEntity last = changes.get(changes.size() - 1);
+            position = new SyncToken(last.getChangeVersion(), last.getTaskId());
+        }
+        return new TaskChangesDTO(changed, deleted, position.encode(), hasMore);
     }
     
-    public void deleteTask(Integer taskId, Integer userId) {
-        // Find the task
-        TaskEntity task = taskRepository.findById(taskId)
-            .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+    /**
+     * Writes every live task of the user to out as newline-delimited JSON,
+     * streaming rows from the database so memory use does not depend on
+     * how many tasks the user has.
+     */
+    public void exportTasks(Integer userId, OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<TaskResponseDTO> tasks = taskRepository.streamByUserId(userId)) {
+                tasks.forEach(task -> {
+                    try {
+                        out.write(jsonMapper.writeValueAsBytes(task));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+    }
+    
+    /**
+     * Change counter of the user's tasks, bumped on every task write.
+     * Null when the user does not exist.
+     */
+    public Long getTaskVersion(Integer userId) {
+        return userRepository.findTaskVersion(userId);
+    }
+    
+    /**
+     * One listing page as of the given taskVersion, which the caller read
+     * to build the listing ETag. The page comes back with the version it
+     * was actually read at, newer than the one given if a write committed
+     * in between.
+     */
+    public VersionedPage getTasksByDateRange(Integer userId, Long version, LocalDateTime startDate, LocalDateTime endDate,
+                                             String mode, String cursor, Integer limit) {
+        int requested = limit != null ? limit : defaultPageSize;
+        if (requested < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        int pageSize = Math.min(requested, maxPageSize);
         
-        // Verify that the task belongs to the user
-        if (!task.getUser().getUserId().equals(userId)) {
-            throw new IllegalArgumentException("Task does not belong to the user");
+        // Validate mode - contained (default) or overlap
+        boolean overlap = "overlap".equals(mode);
+        if (!overlap && mode != null && !"contained".equals(mode)) {
+            throw new IllegalArgumentException("Mode must be contained or overlap");
+        }
+        if (overlap && (startDate == null || endDate == null)) {
+            throw new IllegalArgumentException("Start and end date are required in overlap mode");
         }
         
-        // Delete the task
-        taskRepository.delete(task);
+        // Repeated calendar fetches are served from the cache until the user's next write;
+        // on a miss, the version and page come from one REPEATABLE READ snapshot, so they agree
+        return taskListingCache.get(userId, version, startDate, endDate, overlap, cursor, pageSize,
+            () -> transactionTemplate.execute(status -> new VersionedPage(
+                userRepository.findTaskVersion(userId),
+                loadTaskPage(userId, startDate, endDate, overlap, cursor, pageSize))));
     }
     
-    public List<TaskResponseDTO> getTasksByDateRange(Integer userId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Fetch tasks from repository
-        List<TaskEntity> tasks = taskRepository.findByUserIdAndDateRange(userId, startDate, endDate);
+    private TaskPageDTO loadTaskPage(Integer userId, LocalDateTime startDate, LocalDateTime endDate,
+                                     boolean overlap, String cursor, int pageSize) {
+        TaskCursor after = cursor == null || cursor.isEmpty() ? null : TaskCursor.decode(cursor);
         
-        // Convert to DTOs
-        return tasks.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        // Fetch one extra row to learn whether another page follows
+        Pageable page = PageRequest.of(0, pageSize + 1);
+        List<TaskResponseDTO> tasks;
+        if (overlap && intervalIndexEnabled) {
+            tasks = pageAfter(taskIntervalIndex.findOverlapping(userId, startDate, endDate), after, pageSize + 1);
+        } else if (overlap) {
+            if (after == null) {
+                tasks = taskRepository.findOverlapPage(userId, startDate, endDate, page);
+            } else {
+                tasks = after.getStartTime() != null
+                    ? taskRepository.findOverlapPageAfter(userId, startDate, endDate, after.getStartTime(), after.getTaskId(), page)
+                    : taskRepository.findOverlapPageAfterUnscheduled(userId, startDate, endDate, after.getTaskId(), page);
+            }
+        } else if (after == null) {
+            tasks = taskRepository.findPageByUserIdAndDateRange(userId, startDate, endDate, page);
+        } else {
+            tasks = after.getStartTime() != null
+                ? taskRepository.findPageByUserIdAndDateRangeAfter(userId, startDate, endDate, after.getStartTime(), after.getTaskId(), page)
+                : taskRepository.findPageByUserIdAndDateRangeAfterUnscheduled(userId, startDate, endDate, after.getTaskId(), page);
+        }
+        
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            TaskResponseDTO last = tasks.get(pageSize - 1);
+            nextCursor = new TaskCursor(last.getStartTime(), last.getTaskId()).encode();
+        }
+        return new TaskPageDTO(tasks, nextCursor);
     }
     
     private TaskResponseDTO convertToDTO(TaskEntity task) {
@@ -209,7 +730,28 @@ public class TaskService {
         dto.setIsRemainder(task.getIsRemainder());
         dto.setRemainderTime(task.getRemainderTime());
         dto.setLastUpdateTime(task.getLastUpdateTime());
+        dto.setVersion(task.getVersion());
         
         return dto;
     }
+    
+    /**
+     * Sorts tasks into page order (startTime with unscheduled tasks first,
+     * then taskId) and returns up to count of them after the cursor.
+     */
+    private List<TaskResponseDTO> pageAfter(List<TaskResponseDTO> tasks, TaskCursor after, int count) {
+        List<TaskResponseDTO> sorted = new ArrayList<>(tasks);
+        sorted.sort(PAGE_ORDER);
+        
+        int from = 0;
+        if (after != null) {
+            TaskResponseDTO cursorRow = new TaskResponseDTO();
+            cursorRow.setStartTime(after.getStartTime());
+            cursorRow.setTaskId(after.getTaskId());
+            while (from < sorted.size() && PAGE_ORDER.compare(sorted.get(from), cursorRow) <= 0) {
+                from++;
+            }
+        }
+        return sorted.subList(from, Math.min(from + count, sorted.size()));
+    }
 }
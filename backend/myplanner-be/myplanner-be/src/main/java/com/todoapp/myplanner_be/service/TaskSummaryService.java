@@ -0,0 +1,195 @@
+package com.todoapp.myplanner_be.service;
+
+import com.todoapp.myplanner_be.dto.task.TaskSummaryDTO;
+import com.todoapp.myplanner_be.entity.TaskDaySummaryEntity;
+import com.todoapp.myplanner_be.entity.TaskEntity;
+import com.todoapp.myplanner_be.repository.TaskDaySummaryRepository;
+import com.todoapp.myplanner_be.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-user task counts by day and status, kept in task_day_summary.
+ *
+ * A task counts on the day of its startTime, or of its endTime when it has
+ * no start; tasks with neither are not counted. TaskService moves a task's
+ * count inside the same transaction as the task write, and a nightly job
+ * rebuilds every user's counts from the task table to repair any drift.
+ */
+@Service
+public class TaskSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSummaryService.class);
+
+    /**
+     * One task's count moving between days and statuses; a null day means
+     * not counted.
+     */
+    public record Move(LocalDate previousDay, Byte previousStatusId, LocalDate day, Byte statusId) {
+    }
+
+    private record DayStatus(LocalDate day, Byte statusId) {
+    }
+
+    // Longest range one summary request may cover
+    private static final long MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private TaskDaySummaryRepository taskDaySummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Day a task is counted on, or null if it is not counted.
+     */
+    public static LocalDate dayOf(LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime time = startTime != null ? startTime : endTime;
+        return time != null ? time.toLocalDate() : null;
+    }
+
+    /**
+     * Moves one task's count from its previous day and status to its new
+     * ones; a null day means not counted. Must run inside the task write's
+     * transaction.
+     */
+    public void recordMove(Integer userId, LocalDate previousDay, Byte previousStatusId,
+                           LocalDate day, Byte statusId) {
+        if (Objects.equals(previousDay, day) && Objects.equals(previousStatusId, statusId)) {
+            return;
+        }
+        if (previousDay != null) {
+            taskDaySummaryRepository.addToCount(userId, previousDay, previousStatusId, -1);
+        }
+        if (day != null) {
+            taskDaySummaryRepository.addToCount(userId, day, statusId, 1);
+        }
+    }
+
+    /**
+     * Takes a live task out of its current day and status count, reading
+     * both from the task row. Must run inside the task write's transaction,
+     * before the row changes.
+     */
+    public void removeTask(Integer userId, Integer taskId) {
+        taskDaySummaryRepository.removeTaskCount(userId, taskId);
+    }
+
+    /**
+     * Counts a batch of newly inserted tasks. Must run inside the batch's
+     * transaction.
+     */
+    public void recordAdded(Integer userId, List<TaskEntity> tasks) {
+        recordMoves(userId, tasks.stream()
+                .map(task -> new Move(null, null,
+                        dayOf(task.getStartTime(), task.getEndTime()), task.getStatus().getStatusId()))
+                .toList());
+    }
+
+    /**
+     * Applies many moves with one counter update per day and status whose
+     * net change is not zero. Must run inside the writes' transaction.
+     */
+    public void recordMoves(Integer userId, List<Move> moves) {
+        Map<DayStatus, Integer> deltas = new LinkedHashMap<>();
+        for (Move move : moves) {
+            if (move.previousDay() != null) {
+                deltas.merge(new DayStatus(move.previousDay(), move.previousStatusId()), -1, Integer::sum);
+            }
+            if (move.day() != null) {
+                deltas.merge(new DayStatus(move.day(), move.statusId()), 1, Integer::sum);
+            }
+        }
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                taskDaySummaryRepository.addToCount(userId, key.day(), key.statusId(), delta);
+            }
+        });
+    }
+
+    public List<TaskSummaryDTO> getSummary(Integer userId, LocalDate from, LocalDate to, String granularity) {
+        // Validate range and granularity
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("From and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Summary range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        boolean weekly = "week".equals(granularity);
+        if (!weekly && granularity != null && !"day".equals(granularity)) {
+            throw new IllegalArgumentException("Granularity must be day or week");
+        }
+
+        List<TaskDaySummaryEntity> days = taskDaySummaryRepository.findByUserIdAndDayRange(userId, from, to);
+        if (!weekly) {
+            return days.stream()
+                .map(day -> new TaskSummaryDTO(day.getDay(), day.getStatusId(), day.getTaskCount()))
+                .toList();
+        }
+
+        // Rows arrive in day order, so each week's buckets are contiguous
+        Map<LocalDate, Map<Byte, Integer>> weeks = new LinkedHashMap<>();
+        for (TaskDaySummaryEntity day : days) {
+            LocalDate weekStart = day.getDay().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            // A week cut by the start of the range is labeled with the range's first day, which it only counts from
+            if (weekStart.isBefore(from)) {
+                weekStart = from;
+            }
+            weeks.computeIfAbsent(weekStart, week -> new LinkedHashMap<>())
+                .merge(day.getStatusId(), day.getTaskCount(), Integer::sum);
+        }
+        List<TaskSummaryDTO> summary = new ArrayList<>();
+        weeks.forEach((weekStart, counts) -> counts.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(count -> summary.add(new TaskSummaryDTO(weekStart, count.getKey(), count.getValue()))));
+        return summary;
+    }
+
+    /**
+     * Rebuilds every user's counts from the task table, one user per
+     * transaction. Runs on task.summary.rebuild-cron (default 03:30 daily).
+     */
+    @Scheduled(cron = "${task.summary.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        int rebuilt = 0;
+        for (Integer userId : userRepository.findAllUserIds()) {
+            try {
+                rebuildUser(userId);
+                rebuilt++;
+            } catch (Exception e) {
+                logger.error("Failed to rebuild task summary for user {}: {}", userId, e.getMessage(), e);
+            }
+        }
+        logger.info("Rebuilt task summaries for {} users", rebuilt);
+    }
+
+    public void rebuildUser(Integer userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Hold the user row so no task write for this user interleaves
+            userRepository.lockById(userId);
+            taskDaySummaryRepository.deleteByUserId(userId);
+            taskDaySummaryRepository.insertCountsFromTasks(userId);
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.todoapp.myplanner_be.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public class ETagUtil {
+
+    /**
+     * Build a strong ETag from a resource name, the user and their change counter
+     */
+    public static String etag(String resource, Integer userId, Long version) {
+        return "\"" + resource + "-" + userId + "-" + version + "\"";
+    }
+
+    /**
+     * Check whether the request's If-None-Match header matches the ETag
+     */
+    public static boolean matches(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,286 @@
+package com.todoapp.myplanner_be.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable augmented interval tree of closed intervals [start, end], keyed
+ * by id.
+ *
+ * Intervals are kept in an array sorted by (start, id) that is read as an
+ * implicit balanced binary search tree: the middle element of every range
+ * is the root of that range. Each node also records the largest end in its
+ * subtree, so overlap and stabbing queries skip whole subtrees and run in
+ * O(log n + k). Updates copy the arrays in O(n) and return a new tree, so
+ * readers share a tree without locking; withUpdates applies many changes
+ * in a single copy.
+ */
+public final class IntervalTree<V> {
+
+    private static final IntervalTree<?> EMPTY = new IntervalTree<>(new long[0], new long[0], new long[0], new Object[0]);
+
+    private final long[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final Object[] values;
+    private final long[] maxEnds;
+
+    /**
+     * One change for withUpdates: put sets an id's interval, remove drops it.
+     */
+    public record Update<V>(long id, boolean removed, long start, long end, V value) {
+
+        public static <V> Update<V> put(long id, long start, long end, V value) {
+            if (start > end) {
+                throw new IllegalArgumentException("Interval start is after its end");
+            }
+            return new Update<>(id, false, start, end, value);
+        }
+
+        public static <V> Update<V> remove(long id) {
+            return new Update<>(id, true, 0, 0, null);
+        }
+    }
+
+    private IntervalTree(long[] ids, long[] starts, long[] ends, Object[] values) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+        this.maxEnds = new long[ids.length];
+        augment(0, ids.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> IntervalTree<V> empty() {
+        return (IntervalTree<V>) EMPTY;
+    }
+
+    /**
+     * Builds a tree from parallel lists of ids, starts, ends and values.
+     */
+    public static <V> IntervalTree<V> of(List<Long> ids, List<Long> starts, List<Long> ends, List<V> values) {
+        Integer[] order = new Integer[ids.size()];
+        for (int i = 0; i < order.length; i++) {
+            if (starts.get(i) > ends.get(i)) {
+                throw new IllegalArgumentException("Interval start is after its end");
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(starts::get).thenComparingLong(ids::get));
+
+        long[] sortedIds = new long[order.length];
+        long[] sortedStarts = new long[order.length];
+        long[] sortedEnds = new long[order.length];
+        Object[] sortedValues = new Object[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids.get(order[i]);
+            sortedStarts[i] = starts.get(order[i]);
+            sortedEnds[i] = ends.get(order[i]);
+            sortedValues[i] = values.get(order[i]);
+        }
+        return new IntervalTree<>(sortedIds, sortedStarts, sortedEnds, sortedValues);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns a tree with id's interval set to [start, end], replacing any
+     * interval it already had. The old interval is dropped and the new one
+     * placed in the same copy.
+     */
+    public IntervalTree<V> with(long id, long start, long end, V value) {
+        if (start > end) {
+            throw new IllegalArgumentException("Interval start is after its end");
+        }
+        int n = ids.length;
+        int removed = indexOf(id);
+
+        // Insertion point in (start, id) order among the current intervals, id's old one included
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < start || (starts[mid] == start && ids[mid] < id)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int at = removed >= 0 && removed < lo ? lo - 1 : lo;
+        int size = removed >= 0 ? n : n + 1;
+
+        long[] newIds = new long[size];
+        long[] newStarts = new long[size];
+        long[] newEnds = new long[size];
+        Object[] newValues = new Object[size];
+        copyAround(ids, newIds, n, removed, lo);
+        copyAround(starts, newStarts, n, removed, lo);
+        copyAround(ends, newEnds, n, removed, lo);
+        copyAround(values, newValues, n, removed, lo);
+        newIds[at] = id;
+        newStarts[at] = start;
+        newEnds[at] = end;
+        newValues[at] = value;
+        return new IntervalTree<>(newIds, newStarts, newEnds, newValues);
+    }
+
+    /**
+     * Returns a tree without id's interval, or this tree if it has none.
+     * The id is found by a linear scan, since the arrays are ordered by
+     * start; that is no worse than the O(n) copy every update makes anyway.
+     */
+    public IntervalTree<V> without(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+
+        int n = ids.length - 1;
+        Object[] newValues = new Object[n];
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(values, index + 1, newValues, index, n - index);
+        return new IntervalTree<>(remove(ids, index), remove(starts, index), remove(ends, index), newValues);
+    }
+
+    /**
+     * Returns a tree with all the updates applied, the last one winning
+     * where several touch the same id. The tree is copied and augmented
+     * once, in O(n + k log k) for k updates, rather than once per update.
+     */
+    public IntervalTree<V> withUpdates(List<Update<V>> updates) {
+        if (updates.isEmpty()) {
+            return this;
+        }
+        Map<Long, Update<V>> latest = new HashMap<>();
+        for (Update<V> update : updates) {
+            latest.put(update.id(), update);
+        }
+        List<Update<V>> puts = latest.values().stream()
+                .filter(update -> !update.removed())
+                .sorted(Comparator.<Update<V>>comparingLong(Update::start).thenComparingLong(Update::id))
+                .toList();
+
+        int n = ids.length;
+        boolean[] replaced = new boolean[n];
+        int kept = n;
+        for (int i = 0; i < n; i++) {
+            if (latest.containsKey(ids[i])) {
+                replaced[i] = true;
+                kept--;
+            }
+        }
+
+        // Merge the kept intervals, already in order, with the sorted puts
+        int size = kept + puts.size();
+        long[] newIds = new long[size];
+        long[] newStarts = new long[size];
+        long[] newEnds = new long[size];
+        Object[] newValues = new Object[size];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < size; k++) {
+            while (i < n && replaced[i]) {
+                i++;
+            }
+            Update<V> put = j < puts.size() ? puts.get(j) : null;
+            if (put == null || (i < n && (starts[i] < put.start() || (starts[i] == put.start() && ids[i] < put.id())))) {
+                newIds[k] = ids[i];
+                newStarts[k] = starts[i];
+                newEnds[k] = ends[i];
+                newValues[k] = values[i];
+                i++;
+            } else {
+                newIds[k] = put.id();
+                newStarts[k] = put.start();
+                newEnds[k] = put.end();
+                newValues[k] = put.value();
+                j++;
+            }
+        }
+        return new IntervalTree<>(newIds, newStarts, newEnds, newValues);
+    }
+
+    /**
+     * Values of every interval overlapping [from, to], in (start, id) order.
+     * A stabbing query at t is overlapping(t, t).
+     */
+    public List<V> overlapping(long from, long to) {
+        List<V> result = new ArrayList<>();
+        collect(0, ids.length, from, to, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int lo, int hi, long from, long to, List<V> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] < from) {
+            // Every interval in this subtree ends before the query starts
+            return;
+        }
+        collect(lo, mid, from, to, result);
+        if (starts[mid] > to) {
+            // This node and its right subtree start after the query ends
+            return;
+        }
+        if (ends[mid] >= from) {
+            result.add((V) values[mid]);
+        }
+        collect(mid + 1, hi, from, to, result);
+    }
+
+    private long augment(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the n elements of src into dst, leaving out index removed
+     * (none if negative) and leaving a gap where an element is inserted
+     * before src index lo.
+     */
+    private static void copyAround(Object src, Object dst, int n, int removed, int lo) {
+        if (removed < 0) {
+            System.arraycopy(src, 0, dst, 0, lo);
+            System.arraycopy(src, lo, dst, lo + 1, n - lo);
+        } else if (removed < lo) {
+            System.arraycopy(src, 0, dst, 0, removed);
+            System.arraycopy(src, removed + 1, dst, removed, lo - removed - 1);
+            System.arraycopy(src, lo, dst, lo, n - lo);
+        } else {
+            System.arraycopy(src, 0, dst, 0, lo);
+            System.arraycopy(src, lo, dst, lo + 1, removed - lo);
+            System.arraycopy(src, removed + 1, dst, removed + 1, n - removed - 1);
+        }
+    }
+
+    private static long[] remove(long[] array, int index) {
+        long[] result = new long[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package com.todoapp.myplanner_be.util;
+
+/**
+ * Per-key rate limiter backed by a fixed array of token buckets. Keys are
+ * hashed onto stripes, so memory stays constant however many keys there
+ * are; keys sharing a stripe share its budget.
+ */
+public class StripedRateLimiter {
+
+    private final TokenBucket[] stripes;
+
+    public StripedRateLimiter(int stripeCount, double permitsPerSecond, double burst) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        this.stripes = new TokenBucket[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new TokenBucket(permitsPerSecond, burst);
+        }
+    }
+
+    public boolean tryAcquire(Object key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)].tryAcquire();
+    }
+}
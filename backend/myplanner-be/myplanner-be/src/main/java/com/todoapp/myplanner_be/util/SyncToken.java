@@ -0,0 +1,50 @@
+package com.todoapp.myplanner_be.util;
+
+/**
+ * Position in a user's task changes ordered by (changeVersion, taskId),
+ * written as "changeVersion.taskId". The taskId part lets paging continue
+ * inside a run of tasks sharing one changeVersion, such as the tasks that
+ * predate delta sync at version 0. A bare changeVersion, as earlier
+ * tokens were, stands for the end of that version.
+ */
+public final class SyncToken {
+
+    // Before every task, including those at version 0
+    public static final SyncToken START = new SyncToken(-1L, 0);
+
+    private final long changeVersion;
+    private final int taskId;
+
+    public SyncToken(long changeVersion, int taskId) {
+        this.changeVersion = changeVersion;
+        this.taskId = taskId;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String encode() {
+        return changeVersion + "." + taskId;
+    }
+
+    public static SyncToken decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return START;
+        }
+        try {
+            int separator = token.indexOf('.');
+            if (separator < 0) {
+                return new SyncToken(Long.parseLong(token), Integer.MAX_VALUE);
+            }
+            return new SyncToken(Long.parseLong(token.substring(0, separator)),
+                    Integer.parseInt(token.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.todoapp.myplanner_be.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a task listing ordered by (startTime, taskId), encoded as an
+ * opaque URL-safe string for clients. A null startTime is a valid position:
+ * tasks without a start time sort first.
+ */
+public final class TaskCursor {
+
+    private final LocalDateTime startTime;
+    private final Integer taskId;
+
+    public TaskCursor(LocalDateTime startTime, Integer taskId) {
+        this.startTime = startTime;
+        this.taskId = taskId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public String encode() {
+        String raw = (startTime != null ? startTime.toString() : "") + "|" + taskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            String startTime = raw.substring(0, separator);
+            return new TaskCursor(
+                    startTime.isEmpty() ? null : LocalDateTime.parse(startTime),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
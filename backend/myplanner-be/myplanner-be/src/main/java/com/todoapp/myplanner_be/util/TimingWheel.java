@@ -0,0 +1,188 @@
+package com.todoapp.myplanner_be.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by id.
+ *
+ * Level 0 has wheelSize slots of tickMs each, and every higher level has
+ * wheelSize slots that each span one full rotation of the level below.
+ * An entry is stored in the lowest level that can hold its delay and is
+ * cascaded down as time advances, so schedule and cancel are O(1) and
+ * advancing costs O(ticks + expired + cascaded).
+ *
+ * Deadlines are rounded up to the next tick, so entries never fire early
+ * and fire at most one tick late. Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<K> {
+
+    private static final class Node<K> {
+        private K key;
+        private long expiration;
+        private Node<K> prev;
+        private Node<K> next;
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] slotSpans;
+    private final Node<K>[][] buckets;
+    private final Node<K> overdue;
+    private final Map<K, Node<K>> index = new HashMap<>();
+    private long currentTime;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slotSpans = new long[levels];
+        this.buckets = new Node[levels][wheelSize];
+
+        long span = tickMs;
+        for (int level = 0; level < levels; level++) {
+            slotSpans[level] = span;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = sentinel();
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.overdue = sentinel();
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    /**
+     * Longest delay from the current time that the wheel can hold.
+     */
+    public long getCapacityMs() {
+        return slotSpans[slotSpans.length - 1] * wheelSize;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean contains(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Schedules or reschedules key to fire at deadlineMs. Deadlines already
+     * passed fire on the next advance. Returns false, leaving the key
+     * unscheduled, when the deadline lies beyond the wheel's capacity.
+     */
+    public boolean schedule(K key, long deadlineMs) {
+        cancel(key);
+
+        Node<K> node = new Node<>();
+        node.key = key;
+        node.expiration = ceilToTick(deadlineMs);
+        if (!place(node)) {
+            return false;
+        }
+        index.put(key, node);
+        return true;
+    }
+
+    public boolean cancel(K key) {
+        Node<K> node = index.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to nowMs, handing every expired key to onExpire.
+     */
+    public void advance(long nowMs, Consumer<K> onExpire) {
+        drain(overdue, onExpire);
+
+        if (index.isEmpty()) {
+            // Nothing to cascade, so skip the idle ticks
+            long target = nowMs - Math.floorMod(nowMs, tickMs);
+            if (target > currentTime) {
+                currentTime = target;
+            }
+            return;
+        }
+
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+
+            // Move entries whose higher-level slot starts now into lower levels
+            for (int level = slotSpans.length - 1; level > 0; level--) {
+                if (currentTime % slotSpans[level] == 0) {
+                    Node<K> bucket = buckets[level][slotOf(currentTime, level)];
+                    while (bucket.next != bucket) {
+                        Node<K> node = bucket.next;
+                        unlink(node);
+                        place(node);
+                    }
+                }
+            }
+
+            drain(buckets[0][slotOf(currentTime, 0)], onExpire);
+            drain(overdue, onExpire);
+        }
+    }
+
+    private boolean place(Node<K> node) {
+        long delay = node.expiration - currentTime;
+        if (delay <= 0) {
+            link(overdue, node);
+            return true;
+        }
+        for (int level = 0; level < slotSpans.length; level++) {
+            if (delay < slotSpans[level] * wheelSize) {
+                link(buckets[level][slotOf(node.expiration, level)], node);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain(Node<K> bucket, Consumer<K> onExpire) {
+        while (bucket.next != bucket) {
+            Node<K> node = bucket.next;
+            unlink(node);
+            index.remove(node.key);
+            onExpire.accept(node.key);
+        }
+    }
+
+    private int slotOf(long time, int level) {
+        return (int) ((time / slotSpans[level]) % wheelSize);
+    }
+
+    private long ceilToTick(long timeMs) {
+        long remainder = Math.floorMod(timeMs, tickMs);
+        return remainder == 0 ? timeMs : timeMs - remainder + tickMs;
+    }
+
+    private Node<K> sentinel() {
+        Node<K> sentinel = new Node<>();
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    private void link(Node<K> bucket, Node<K> node) {
+        node.prev = bucket.prev;
+        node.next = bucket;
+        bucket.prev.next = node;
+        bucket.prev = node;
+    }
+
+    private void unlink(Node<K> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+}
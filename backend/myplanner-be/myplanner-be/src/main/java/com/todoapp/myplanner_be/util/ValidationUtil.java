@@ -0,0 +1,24 @@
+package com.todoapp.myplanner_be.util;
+
+import java.util.stream.Collectors;
+
+import jakarta.validation.Validator;
+
+public class ValidationUtil {
+
+    /**
+     * Check a DTO's constraint annotations where no @Valid parameter does,
+     * such as import rows and batch operations. Throws
+     * IllegalArgumentException listing each violation as "field: message",
+     * as request validation errors are reported.
+     */
+    public static void validate(Validator validator, Object dto) {
+        String errors = validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(errors);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.myplanner_be.entity.NotificationOutboxEntity;
+import com.todoapp.myplanner_be.repository.NotificationOutboxRepository;
+
+class NotificationRelayServiceTest {
+
+    private static final int BURST_ROWS = 100_000;
+    private static final double GLOBAL_PER_SECOND = 50_000;
+    private static final double GLOBAL_BURST = 1_000;
+    private static final int DISPATCH_WORKERS = 4;
+
+    private final NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final PresenceService presenceService = mock(PresenceService.class);
+    private final NotificationRelayService relay = new NotificationRelayService();
+
+    @AfterEach
+    void stopRelay() {
+        relay.stopRelay();
+    }
+
+    @Test
+    void pacesABurstSoTheOutboundQueueStaysBounded() {
+        // One row per user, all due at once, so only the global limit holds them back
+        List<NotificationOutboxEntity> rows = new ArrayList<>(BURST_ROWS);
+        for (int i = 0; i < BURST_ROWS; i++) {
+            rows.add(row(i + 1L, i + 1));
+        }
+        AtomicInteger claimed = new AtomicInteger();
+        when(outboxRepository.lockRelayable(eq("node-a"), any(LocalDateTime.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable page = invocation.getArgument(2);
+                    int from = claimed.get();
+                    int to = Math.min(from + page.getPageSize(), rows.size());
+                    claimed.set(to);
+                    return new ArrayList<>(rows.subList(from, to));
+                });
+        Set<Long> deleted = ConcurrentHashMap.newKeySet();
+        when(outboxRepository.deleteRelayed(anyCollection(), eq("node-a"))).thenAnswer(invocation -> {
+            Collection<Long> outboxIds = invocation.getArgument(0);
+            deleted.addAll(outboxIds);
+            return outboxIds.size();
+        });
+        when(presenceService.isOnline(any())).thenReturn(true);
+
+        // The simple broker's outbound channel is modelled by the send times of its frames
+        ConcurrentLinkedQueue<Long> sendNanos = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> sendNanos.add(System.nanoTime()))
+                .when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        startRelay();
+        long started = System.nanoTime();
+        relay.wake();
+        await().atMost(Duration.ofSeconds(30)).until(() -> deleted.size() == BURST_ROWS);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        assertEquals(BURST_ROWS, sendNanos.size());
+        // Without pacing the burst would go out as fast as the workers can send
+        assertTrue(elapsedSeconds >= (BURST_ROWS - GLOBAL_BURST) / GLOBAL_PER_SECOND * 0.9,
+                "drained in " + elapsedSeconds + " s");
+
+        // Frames waiting in a channel drained at the global rate never exceed the burst,
+        // give or take the frames in flight on each worker and 10 ms of scheduling jitter
+        List<Long> sends = new ArrayList<>(sendNanos);
+        Collections.sort(sends);
+        long first = sends.get(0);
+        double maxDepth = 0;
+        for (int i = 0; i < sends.size(); i++) {
+            double drained = (sends.get(i) - first) * GLOBAL_PER_SECOND / 1e9;
+            maxDepth = Math.max(maxDepth, i + 1 - drained);
+        }
+        double slack = DISPATCH_WORKERS + GLOBAL_PER_SECOND * 0.01;
+        assertTrue(maxDepth <= GLOBAL_BURST + slack, "outbound queue reached " + maxDepth + " frames");
+    }
+
+    private void startRelay() {
+        ReflectionTestUtils.setField(relay, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(relay, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(relay, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(relay, "reminderMetricsService", mock(ReminderMetricsService.class));
+        ReflectionTestUtils.setField(relay, "presenceService", presenceService);
+        ReflectionTestUtils.setField(relay, "batchSize", 500);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(relay, "nodeId", "node-a");
+        ReflectionTestUtils.setField(relay, "dispatchWorkers", DISPATCH_WORKERS);
+        ReflectionTestUtils.setField(relay, "globalPerSecond", GLOBAL_PER_SECOND);
+        ReflectionTestUtils.setField(relay, "globalBurst", GLOBAL_BURST);
+        // Users share stripes, so the per-user limit is set out of the way
+        ReflectionTestUtils.setField(relay, "userPerSecond", 1_000.0);
+        ReflectionTestUtils.setField(relay, "userBurst", 1_000.0);
+        ReflectionTestUtils.setField(relay, "userStripes", 1024);
+        ReflectionTestUtils.setField(relay, "deferMs", 1_000L);
+        relay.startRelay();
+    }
+
+    private static NotificationOutboxEntity row(Long outboxId, Integer userId) {
+        NotificationOutboxEntity row = new NotificationOutboxEntity();
+        row.setOutboxId(outboxId);
+        row.setUserId(userId);
+        row.setType("TASK_REMINDER");
+        row.setTaskId(userId);
+        row.setTopic("Task " + userId);
+        row.setMessage("Reminder: Your task \"Task " + userId + "\" is coming up!");
+        row.setCreateTime(LocalDateTime.now());
+        row.setDueTime(LocalDateTime.now());
+        row.setReplayed(false);
+        return row;
+    }
+}
@@ -0,0 +1,194 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.todoapp.myplanner_be.MyplannerBeApplication;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+import com.todoapp.myplanner_be.support.MySqlTestDatabase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two application instances sharing one database, as in a multi-node
+ * deployment: reminders must be claimed once between them, only the node a
+ * user is connected to may deliver that user's notifications, and a
+ * reminder that fires on the other node still reaches the user live.
+ */
+class ReminderMultiNodeTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+        jdbcTemplate = nodeA.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(MyplannerBeApplication.class)
+                .properties(MySqlTestDatabase.properties())
+                .properties("server.port=0",
+                        "notification.relay.node-id=" + nodeId,
+                        "notification.relay.interval-ms=200")
+                .run();
+    }
+
+    @Test
+    void concurrentClaimsQueueEachReminderOnce() throws Exception {
+        Integer userId = MySqlIntegrationTest.insertUser(jdbcTemplate);
+        int reminders = 2000;
+        insertDueReminders(userId, reminders);
+        connect(nodeA, userId);
+        connect(nodeB, userId);
+
+        // Both nodes drain the user's reminders at the same time
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> claimedByA = pool.submit(drain(nodeA, userId, start));
+            Future<Integer> claimedByB = pool.submit(drain(nodeB, userId, start));
+            start.countDown();
+
+            assertEquals(reminders, claimedByA.get() + claimedByB.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(reminders, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task WHERE userId = ? AND reminderSent = TRUE", Integer.class, userId));
+    }
+
+    @Test
+    void onlyTheNodeTheUserIsConnectedToDeliversTheirReminders() {
+        Integer userId = MySqlIntegrationTest.insertUser(jdbcTemplate);
+        int reminders = 50;
+        insertDueReminders(userId, reminders);
+        connect(nodeA, userId);
+        double sentByA = sent(nodeA);
+        double sentByB = sent(nodeB);
+
+        assertEquals(reminders, nodeA.getBean(ReminderSchedulerService.class).enqueueDueReminders(userId));
+        // Give node B's relay the chance to take rows it must not deliver
+        nodeB.getBean(NotificationRelayService.class).wake();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxRows(userId) == 0);
+        assertEquals(reminders, sent(nodeA) - sentByA);
+        assertEquals(0, sent(nodeB) - sentByB);
+    }
+
+    @Test
+    void reminderFiredOnOneNodeIsDeliveredByTheNodeHoldingTheSession() {
+        Integer userId = MySqlIntegrationTest.insertUser(jdbcTemplate);
+        connect(nodeB, userId);
+        // Written after both nodes' startup refill, so only node A's wheel holds it, as for a write served by A
+        LocalDateTime due = LocalDateTime.now().plusSeconds(2).withNano(0);
+        int taskId = insertReminders(userId, 1, due);
+        double sentByA = sent(nodeA);
+        double sentByB = sent(nodeB);
+
+        nodeA.getBean(ReminderSchedulerService.class).scheduleReminder(taskId, due);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> reminderSent(taskId) && outboxRows(userId) == 0);
+        assertEquals(1, sent(nodeB) - sentByB);
+        assertEquals(0, sent(nodeA) - sentByA);
+        // Delivered live, not held for the user's next subscribe
+        assertEquals(0, nodeB.getBean(MeterRegistry.class).get("reminder.delivery.lag").tag("path", "replay").timer().count());
+    }
+
+    @Test
+    void waitingNotificationsMoveToTheNodeTheUserConnectsTo() {
+        Integer userId = MySqlIntegrationTest.insertUser(jdbcTemplate);
+        int notifications = 20;
+        // Rows parked while the user was offline carry no node
+        for (int i = 0; i < notifications; i++) {
+            jdbcTemplate.update("INSERT INTO notification_outbox (userId, type, taskId, topic, message, createTime, dueTime) "
+                    + "VALUES (?, 'TASK_REMINDER', NULL, 'Parked', 'Reminder', ?, ?)",
+                    userId, Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)));
+        }
+        double sentByA = sent(nodeA);
+        double sentByB = sent(nodeB);
+
+        connect(nodeB, userId);
+        nodeB.getBean(NotificationRelayService.class).adoptUser(userId);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxRows(userId) == 0);
+        assertEquals(notifications, sent(nodeB) - sentByB);
+        assertEquals(0, sent(nodeA) - sentByA);
+    }
+
+    private static Callable<Integer> drain(ConfigurableApplicationContext node, Integer userId, CountDownLatch start) {
+        ReminderSchedulerService scheduler = node.getBean(ReminderSchedulerService.class);
+        return () -> {
+            start.await();
+            int total = 0;
+            int claimed;
+            do {
+                claimed = scheduler.enqueueDueReminders(userId);
+                total += claimed;
+            } while (claimed > 0);
+            return total;
+        };
+    }
+
+    private static void connect(ConfigurableApplicationContext node, Integer userId) {
+        node.getBean(PresenceService.class).sessionSubscribed(UUID.randomUUID().toString(), userId);
+    }
+
+    private static double sent(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("reminder.sent").counter().count();
+    }
+
+    private static int outboxRows(Integer userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox WHERE userId = ?", Integer.class, userId);
+    }
+
+    private static boolean reminderSent(int taskId) {
+        return jdbcTemplate.queryForObject("SELECT reminderSent FROM task WHERE taskId = ?", Boolean.class, taskId);
+    }
+
+    private static void insertDueReminders(Integer userId, int count) {
+        insertReminders(userId, count, LocalDateTime.now().minusMinutes(1));
+    }
+
+    // Returns the first task id
+    private static int insertReminders(Integer userId, int count, LocalDateTime remainderTime) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp due = Timestamp.valueOf(remainderTime);
+        int firstId = MySqlIntegrationTest.reserveTaskIds(jdbcTemplate, count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] { firstId + i, "Reminder " + i, now, now, userId, due });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task (taskId, topic, statusId, createTime, lastUpdateTime, userId, isRemainder, remainderTime, reminderSent) "
+                + "VALUES (?, ?, 1, ?, ?, ?, TRUE, ?, FALSE)", rows);
+        return firstId;
+    }
+}
@@ -0,0 +1,91 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchOperationDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchResultDTO;
+import com.todoapp.myplanner_be.exception.ResourceNotFoundException;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+class TaskBatchTest extends MySqlIntegrationTest {
+
+    private static final int TASKS = 200;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void batchWritesTheSameTasksAsSingleWritesInFewerStatements() {
+        Integer singleUser = insertUser();
+        sqlStatementRecorder.start();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.createTask(task(i), singleUser);
+        }
+        List<String> singleStatements = sqlStatementRecorder.stop();
+
+        Integer batchUser = insertUser();
+        List<TaskBatchOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            operations.add(new TaskBatchOperationDTO("create", null, task(i)));
+        }
+        sqlStatementRecorder.start();
+        List<TaskBatchResultDTO> results = taskService.applyBatch(batchUser, operations);
+        List<String> batchStatements = sqlStatementRecorder.stop();
+
+        assertTrue(results.stream().allMatch(TaskBatchResultDTO::getSuccess), results.toString());
+        // Both leave the same tasks at the same consecutive versions
+        assertEquals(written(singleUser), written(batchUser));
+        assertEquals(taskService.getTaskVersion(singleUser), taskService.getTaskVersion(batchUser));
+        assertTrue(batchStatements.size() * 10 < singleStatements.size(),
+                "batch sent " + batchStatements.size() + " statements, single writes " + singleStatements.size());
+    }
+
+    @Test
+    void reportsConstraintViolationsPerOperation() {
+        Integer userId = insertUser();
+        List<TaskBatchOperationDTO> operations = List.of(
+                new TaskBatchOperationDTO("move", null, task(0)),
+                new TaskBatchOperationDTO("create", null, new CreateTaskDTO("x".repeat(31), null, (byte) 1,
+                        null, null, null, false, null)),
+                new TaskBatchOperationDTO("create", null, task(1)));
+
+        List<TaskBatchResultDTO> results = taskService.applyBatch(userId, operations);
+
+        assertEquals("op: Operation must be create, update or delete", results.get(0).getError());
+        assertEquals("topic: Topic must be between 1 and 30 characters", results.get(1).getError());
+        assertFalse(results.get(1).getSuccess());
+        assertTrue(results.get(2).getSuccess());
+        assertEquals(1L, taskService.getTaskVersion(userId));
+    }
+
+    @Test
+    void rejectsABatchForAMissingUser() {
+        List<TaskBatchOperationDTO> operations = List.of(new TaskBatchOperationDTO("create", null, task(0)));
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.applyBatch(-1, operations));
+    }
+
+    private static CreateTaskDTO task(int i) {
+        LocalDateTime start = START.plusMinutes(i);
+        return new CreateTaskDTO("Task " + i, "Written by a test", (byte) 1, null,
+                start, start.plusMinutes(30), false, null);
+    }
+
+    // Topic, times and changeVersion of the user's tasks in version order
+    private List<String> written(Integer userId) {
+        return jdbcTemplate.queryForList("SELECT CONCAT_WS('|', topic, startTime, endTime, changeVersion) FROM task "
+                + "WHERE userId = ? ORDER BY changeVersion", String.class, userId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import com.todoapp.myplanner_be.dto.task.TaskChangesDTO;
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+class TaskChangesTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${task.page.max-limit:500}")
+    private int maxPageSize;
+
+    @Test
+    void pagesThroughTasksThatShareOneChangeVersion() {
+        Integer userId = insertUser();
+        // Tasks that predate delta sync all sit at changeVersion 0
+        int taskCount = maxPageSize * 2 + maxPageSize / 2;
+        List<Integer> taskIds = insertTasks(userId, null, taskCount, LocalDateTime.of(2026, 4, 1, 9, 0));
+
+        List<Integer> synced = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        TaskChangesDTO changes;
+        do {
+            changes = taskService.getChangesSince(userId, token);
+            changes.getChanged().stream().map(TaskResponseDTO::getTaskId).forEach(synced::add);
+            token = changes.getSyncToken();
+            pages++;
+        } while (changes.getHasMore());
+
+        assertEquals(3, pages);
+        assertEquals(taskIds, synced);
+
+        // Caught up: nothing more until the next write, which is picked up after the run
+        assertTrue(taskService.getChangesSince(userId, token).getChanged().isEmpty());
+        taskService.deleteTask(taskIds.get(0), userId);
+        TaskChangesDTO afterDelete = taskService.getChangesSince(userId, token);
+        assertEquals(List.of(taskIds.get(0)), afterDelete.getDeleted());
+        assertFalse(afterDelete.getHasMore());
+    }
+
+    @Test
+    void acceptsTokensWithoutATaskId() {
+        Integer userId = insertUser();
+        insertTasks(userId, null, 3, LocalDateTime.of(2026, 4, 1, 9, 0));
+
+        // A bare version covers every task at that version
+        assertTrue(taskService.getChangesSince(userId, "0").getChanged().isEmpty());
+        assertEquals(3, taskService.getChangesSince(userId, "-1").getChanged().size());
+    }
+}
@@ -0,0 +1,94 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class TaskExportTest extends MySqlIntegrationTest {
+
+    private static final int TASKS = 200_000;
+    private static final long MAX_HEAP_GROWTH = 32L * 1024 * 1024;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void streamsEveryTaskWithoutHoldingTheResultInMemory() {
+        Integer userId = insertUser();
+        List<Integer> taskIds = insertTasks(userId, insertCategory(userId), TASKS, LocalDateTime.of(2026, 1, 1, 0, 0));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+        int[] exported = new int[TASKS];
+        long[] midway = new long[1];
+
+        OutputStream out = new OutputStream() {
+            private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            private int lines;
+
+            @Override
+            public void write(int b) {
+                if (b != '\n') {
+                    line.write(b);
+                    return;
+                }
+                exported[lines++] = jsonMapper.readTree(line.toByteArray()).get("taskId").asInt();
+                line.reset();
+                if (lines == TASKS / 2) {
+                    // A buffered result set would be fully in memory by now
+                    midway[0] = usedHeapAfterGc(memory);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                for (int i = off; i < off + len; i++) {
+                    write(b[i]);
+                }
+            }
+        };
+        taskService.exportTasks(userId, out);
+
+        assertEquals(taskIds, Arrays.stream(exported).boxed().toList());
+        long growth = midway[0] - before;
+        assertTrue(growth < MAX_HEAP_GROWTH, "heap grew by " + growth / (1024 * 1024) + " MB halfway through the export");
+    }
+
+    @Test
+    void exportsOnlyTheUsersLiveTasks() {
+        Integer userId = insertUser();
+        List<Integer> taskIds = insertTasks(userId, null, 3, LocalDateTime.of(2026, 1, 1, 0, 0));
+        insertTasks(insertUser(), null, 2, LocalDateTime.of(2026, 1, 1, 0, 0));
+        taskService.deleteTask(taskIds.get(1), userId);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskService.exportTasks(userId, out);
+
+        List<Integer> exported = out.toString().lines()
+                .map(line -> jsonMapper.readTree(line).get("taskId").asInt())
+                .toList();
+        assertEquals(List.of(taskIds.get(0), taskIds.get(2)), exported);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,114 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.todoapp.myplanner_be.dto.task.TaskImportResultDTO;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+/**
+ * Bulk import: rows with bad values are skipped and reported while the rest
+ * are imported, and only a body that cannot be parsed stops the import.
+ */
+class TaskImportTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private Integer userId;
+
+    @BeforeEach
+    void createUser() {
+        // No security filters: the request carries the userId JwtRequestFilter would set
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        userId = insertUser();
+    }
+
+    @Test
+    void rowsWithValuesOfTheWrongFormatOrTypeAreSkipped() {
+        String json = """
+                [
+                  {"topic": "First", "statusId": 1, "startTime": "2026-06-01T09:00:00"},
+                  {"topic": "Bad date", "statusId": 1, "startTime": "June 1st"},
+                  {"topic": "Bad type", "statusId": {"id": 1}},
+                  {"topic": "Last", "statusId": 1}
+                ]
+                """;
+
+        TaskImportResultDTO result = taskImportService.importTasks(userId, body(json), false);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getSkipped());
+        assertTrue(result.getErrors().get(0).startsWith("Row 2: "), result.getErrors().toString());
+        assertTrue(result.getErrors().get(1).startsWith("Row 3: "), result.getErrors().toString());
+        assertEquals(2, taskCount());
+    }
+
+    @Test
+    void badCsvValueIsSkipped() {
+        String csv = """
+                topic,statusId,startTime
+                First,1,2026-06-01T09:00:00
+                Bad date,1,tomorrow
+                Last,1,
+                """;
+
+        TaskImportResultDTO result = taskImportService.importTasks(userId, body(csv), true);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getSkipped());
+        assertTrue(result.getErrors().get(0).startsWith("Row 2: "), result.getErrors().toString());
+    }
+
+    @Test
+    void unparseableBodyStopsTheImport() {
+        String json = "[{\"topic\": \"First\", \"statusId\": 1}, {\"topic\": \"Broken\" \"statusId\": 1}]";
+
+        assertThrows(IllegalArgumentException.class, () -> taskImportService.importTasks(userId, body(json), false));
+    }
+
+    @Test
+    void statusTellsWhetherAnythingWasImported() throws Exception {
+        mockMvc.perform(post("/api/task/import").requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"topic\": \"Kept\", \"statusId\": 1}]"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/task/import").requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"topic\": \"Rejected\", \"statusId\": 99}]"))
+                .andExpect(status().isUnprocessableContent());
+        mockMvc.perform(post("/api/task/import").requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, taskCount());
+    }
+
+    private int taskCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task WHERE userId = ?", Integer.class, userId);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchOperationDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.dto.task.UpdateTaskDTO;
+import com.todoapp.myplanner_be.repository.TaskRepository;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+/**
+ * The interval index kept current in place by single writes and batches
+ * answers overlap queries exactly as the SQL overlap query does.
+ */
+class TaskIntervalIndexTest extends MySqlIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 9, 7, 8, 0);
+    private static final Pattern READS_TASK = Pattern.compile("\\bfrom task\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskIntervalIndex taskIntervalIndex;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Integer userId;
+    private List<Integer> taskIds;
+
+    @BeforeEach
+    void createUserWithTasks() {
+        userId = insertUser();
+        taskIds = insertTasks(userId, null, 40, START);
+        taskService.createTask(task("Only a start", START.plusHours(3), null), userId);
+        taskService.createTask(task("Only an end", null, START.plusHours(4)), userId);
+    }
+
+    @Test
+    void treeUpdatedInPlaceMatchesTheSqlOverlapQuery() {
+        // Load the tree, then change tasks only through the service
+        taskIntervalIndex.findOverlapping(userId, START, START);
+
+        taskService.updateTask(new UpdateTaskDTO(taskIds.get(0), "Moved", null, (byte) 2, null,
+                START.plusDays(1), START.plusDays(1).plusHours(2), false, null), userId);
+        taskService.patchTask(taskIds.get(1), new TaskPatchDTO(null, "Stretched", null, null, null, null,
+                Optional.of(START.plusHours(6)), null, null), userId);
+        taskService.patchTask(taskIds.get(2), new TaskPatchDTO(null, null, null, null, null,
+                Optional.empty(), Optional.empty(), null, null), userId);
+        taskService.deleteTask(taskIds.get(3), userId);
+        taskService.createTask(task("Created", START.plusMinutes(15), START.plusMinutes(20)), userId);
+
+        taskService.applyBatch(userId, List.of(
+                new TaskBatchOperationDTO("create", null, task("Batch created", START.plusHours(2), START.plusHours(5))),
+                new TaskBatchOperationDTO("update", taskIds.get(4), task("Batch moved", START.minusDays(1), START.minusHours(20))),
+                new TaskBatchOperationDTO("update", taskIds.get(5), task("Then deleted", START.plusDays(3), START.plusDays(3))),
+                new TaskBatchOperationDTO("delete", taskIds.get(5), null),
+                new TaskBatchOperationDTO("update", taskIds.get(6), task("Unscheduled", null, null)),
+                new TaskBatchOperationDTO("delete", taskIds.get(7), null)));
+
+        List<LocalDateTime[]> windows = List.of(
+                new LocalDateTime[] { START.minusDays(2), START.plusDays(5) },
+                new LocalDateTime[] { START, START },
+                new LocalDateTime[] { START.plusMinutes(10), START.plusMinutes(25) },
+                new LocalDateTime[] { START.plusHours(3), START.plusHours(4) },
+                new LocalDateTime[] { START.minusHours(30), START.minusHours(21) },
+                new LocalDateTime[] { START.plusDays(1).plusHours(1), START.plusDays(1).plusHours(1) },
+                new LocalDateTime[] { START.plusDays(3), START.plusDays(3) });
+        for (LocalDateTime[] window : windows) {
+            sqlStatementRecorder.start();
+            List<TaskResponseDTO> indexed = taskIntervalIndex.findOverlapping(userId, window[0], window[1]);
+            // Answered by the tree the writes kept current, not by a reload
+            assertEquals(List.of(), taskReads(sqlStatementRecorder.stop()));
+
+            List<TaskResponseDTO> queried = taskRepository.findOverlapPage(userId, window[0], window[1], PageRequest.of(0, 1_000));
+            assertEquals(describe(queried), describe(indexed), window[0] + " - " + window[1]);
+        }
+    }
+
+    private static CreateTaskDTO task(String topic, LocalDateTime startTime, LocalDateTime endTime) {
+        return new CreateTaskDTO(topic, null, (byte) 1, null, startTime, endTime, false, null);
+    }
+
+    // The fields both paths carry, by task id; the SQL query orders tasks with no start first, the tree by range
+    private static List<String> describe(List<TaskResponseDTO> tasks) {
+        return tasks.stream()
+                .sorted(Comparator.comparing(TaskResponseDTO::getTaskId))
+                .map(task -> task.getTaskId() + " " + task.getTopic() + " " + task.getStatus().getStatusId()
+                        + " " + task.getStartTime() + " " + task.getEndTime())
+                .toList();
+    }
+
+    private static List<String> taskReads(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> READS_TASK.matcher(sql).find())
+                .toList();
+    }
+}
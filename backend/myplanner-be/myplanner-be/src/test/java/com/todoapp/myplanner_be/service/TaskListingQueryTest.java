@@ -0,0 +1,115 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.entity.TaskEntity;
+import com.todoapp.myplanner_be.repository.TaskRepository;
+import com.todoapp.myplanner_be.service.TaskListingCache.VersionedPage;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+class TaskListingQueryTest extends MySqlIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 8, 0);
+    private static final int TASKS = 2_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Integer userId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void createUserWithTasks() {
+        userId = insertUser();
+        insertTasks(userId, insertCategory(userId), TASKS, START);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listsAPageWithOneSelectAndNoEntityLoads() {
+        Long version = taskService.getTaskVersion(userId);
+        statistics.clear();
+
+        sqlStatementRecorder.start();
+        VersionedPage page = taskService.getTasksByDateRange(userId, version, START, START.plusDays(7), null, null, 100);
+        List<String> statements = sqlStatementRecorder.stop();
+
+        assertEquals(100, page.page().getTasks().size());
+        assertEquals("Work", page.page().getTasks().get(0).getCategory().getCategoryName());
+        assertEquals("To Do", page.page().getTasks().get(0).getStatus().getStatusName());
+        // The version the page was read at, and the page itself with status and category joined in
+        assertEquals(2, statements.size(), statements.toString());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+
+        // A repeat at the same version is served from the cache
+        sqlStatementRecorder.start();
+        taskService.getTasksByDateRange(userId, version, START, START.plusDays(7), null, null, 100);
+        assertEquals(List.of(), sqlStatementRecorder.stop());
+    }
+
+    @Test
+    void projectionAllocatesLessPerTaskThanLoadingEntities() {
+        Supplier<List<TaskResponseDTO>> projection = () -> transactionTemplate.execute(status ->
+                taskRepository.findPageByUserIdAndDateRange(userId, null, null, PageRequest.of(0, TASKS)));
+        Supplier<List<TaskEntity>> entities = () -> transactionTemplate.execute(status ->
+                entityManager.createQuery("SELECT t FROM TaskEntity t WHERE t.user.userId = :userId "
+                        + "AND t.deleted = false ORDER BY t.startTime, t.taskId", TaskEntity.class)
+                        .setParameter("userId", userId)
+                        .getResultList());
+
+        long projectionBytes = leastAllocated(projection);
+        long entityBytes = leastAllocated(entities);
+
+        assertTrue(projectionBytes < entityBytes,
+                "projection " + projectionBytes / TASKS + " B/task, entities " + entityBytes / TASKS + " B/task");
+    }
+
+    // Fewest bytes the calling thread allocated over a few runs, after warming up
+    private static long leastAllocated(Supplier<? extends List<?>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(TASKS, query.get().size());
+        }
+
+        long least = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            query.get();
+            least = Math.min(least, threads.getThreadAllocatedBytes(thread) - before);
+        }
+        return least;
+    }
+}
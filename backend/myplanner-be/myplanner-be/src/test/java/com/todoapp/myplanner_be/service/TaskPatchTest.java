@@ -0,0 +1,106 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+/**
+ * Partial task updates: fields left out of the request keep their values,
+ * and a patch based on an outdated version is refused with 409.
+ */
+class TaskPatchTest extends MySqlIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 6, 1, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private Integer userId;
+    private Integer categoryId;
+    private Integer taskId;
+
+    @BeforeEach
+    void createUserWithTask() {
+        // No security filters: the request carries the userId JwtRequestFilter would set
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        userId = insertUser();
+        categoryId = insertCategory(userId);
+        taskId = insertTasks(userId, categoryId, 1, START).get(0);
+    }
+
+    @Test
+    void absentFieldsAreLeftUnchanged() throws Exception {
+        Map<String, Object> before = taskRow();
+
+        mockMvc.perform(patch("/api/task/" + taskId)
+                        .requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"topic\": \"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        Map<String, Object> after = taskRow();
+        assertEquals("Renamed", after.get("topic"));
+        for (String column : List.of("description", "statusId", "categoryId", "startTime", "endTime",
+                "isRemainder", "remainderTime")) {
+            assertEquals(before.get(column), after.get(column), column);
+        }
+        assertEquals((Long) before.get("version") + 1, after.get("version"));
+    }
+
+    @Test
+    void explicitNullClearsAField() throws Exception {
+        mockMvc.perform(patch("/api/task/" + taskId)
+                        .requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": null}"))
+                .andExpect(status().isOk());
+
+        Map<String, Object> after = taskRow();
+        assertNull(after.get("categoryId"));
+        assertEquals("Imported for a test", after.get("description"));
+    }
+
+    @Test
+    void staleVersionIsRefusedWithConflict() throws Exception {
+        taskService.patchTask(taskId, new TaskPatchDTO(0L, "First", null, null, null, null, null, null, null), userId);
+
+        // Both the service and the HTTP mapping reject a patch based on version 0
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.patchTask(taskId,
+                new TaskPatchDTO(0L, "Second", null, null, null, null, null, null, null), userId));
+        mockMvc.perform(patch("/api/task/" + taskId)
+                        .requestAttr("userId", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0, \"topic\": \"Second\"}"))
+                .andExpect(status().isConflict());
+
+        assertEquals("First", taskRow().get("topic"));
+        assertEquals(1L, taskRow().get("version"));
+    }
+
+    private Map<String, Object> taskRow() {
+        return jdbcTemplate.queryForMap("SELECT topic, description, statusId, categoryId, startTime, endTime, "
+                + "isRemainder, remainderTime, version FROM task WHERE taskId = ?", taskId);
+    }
+}
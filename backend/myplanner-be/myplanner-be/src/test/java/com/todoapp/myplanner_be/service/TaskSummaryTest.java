@@ -0,0 +1,123 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskBatchOperationDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
+import com.todoapp.myplanner_be.dto.task.TaskSummaryDTO;
+import com.todoapp.myplanner_be.dto.task.UpdateTaskDTO;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+
+/**
+ * The day summary kept by every kind of task write agrees with the one the
+ * nightly rebuild computes from the task table.
+ */
+class TaskSummaryTest extends MySqlIntegrationTest {
+
+    // A Wednesday
+    private static final LocalDate DAY = LocalDate.of(2026, 11, 4);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    private Integer userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = insertUser();
+    }
+
+    @Test
+    void incrementalCountsMatchTheRebuild() {
+        Integer first = create("First", (byte) 1, at(0), at(0).plusHours(1));
+        Integer second = create("Second", (byte) 2, at(0), null);
+        Integer third = create("Third", (byte) 1, at(1), at(1).plusHours(1));
+        Integer endOnly = create("End only", (byte) 1, null, at(2));
+        Integer unscheduled = create("Unscheduled", (byte) 1, null, null);
+
+        // Status change and day move in one update
+        taskService.updateTask(new UpdateTaskDTO(first, "First", null, (byte) 3, null,
+                at(1), at(1).plusHours(1), false, null), userId);
+        taskService.patchTask(second, new TaskPatchDTO(null, null, null, null, null,
+                Optional.of(at(3)), null, null, null), userId);
+        taskService.patchTask(third, new TaskPatchDTO(null, null, null, (byte) 4, null, null, null, null, null), userId);
+        taskService.patchTask(unscheduled, new TaskPatchDTO(null, null, null, null, null,
+                Optional.of(at(0)), null, null, null), userId);
+        taskService.deleteTask(endOnly, userId);
+
+        taskService.applyBatch(userId, List.of(
+                new TaskBatchOperationDTO("create", null, task("Batch created", (byte) 2, at(0))),
+                new TaskBatchOperationDTO("update", third, task("Third", (byte) 4, at(5))),
+                new TaskBatchOperationDTO("update", first, task("First", (byte) 1, at(1))),
+                new TaskBatchOperationDTO("delete", first, null),
+                new TaskBatchOperationDTO("delete", second, null)));
+
+        String rows = """
+                [
+                  {"topic": "Imported", "statusId": 1, "startTime": "%s"},
+                  {"topic": "Imported", "statusId": 2, "endTime": "%s"},
+                  {"topic": "Imported", "statusId": 1}
+                ]
+                """.formatted(at(0), at(6));
+        taskImportService.importTasks(userId, new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)), false);
+
+        List<String> incremental = summaryRows();
+        List<TaskSummaryDTO> served = taskSummaryService.getSummary(userId, DAY.minusDays(7), DAY.plusDays(7), "day");
+        taskSummaryService.rebuildUser(userId);
+
+        assertEquals(summaryRows(), incremental);
+        assertEquals(incremental, served.stream()
+                .map(day -> day.getPeriodStart() + " " + day.getStatusId() + " " + day.getCount())
+                .toList());
+    }
+
+    @Test
+    void firstWeekIsLabeledWithTheStartOfTheRange() {
+        create("Before the range", (byte) 1, at(-1), null);
+        create("Wednesday", (byte) 1, at(0), null);
+        create("Next Monday", (byte) 1, at(5), null);
+
+        List<TaskSummaryDTO> weeks = taskSummaryService.getSummary(userId, DAY, DAY.plusDays(13), "week");
+
+        assertEquals(List.of(new TaskSummaryDTO(DAY, (byte) 1, 1), new TaskSummaryDTO(DAY.plusDays(5), (byte) 1, 1)),
+                weeks);
+    }
+
+    private Integer create(String topic, byte statusId, LocalDateTime startTime, LocalDateTime endTime) {
+        return taskService.createTask(new CreateTaskDTO(topic, null, statusId, null, startTime, endTime, false, null),
+                userId).getTaskId();
+    }
+
+    private static CreateTaskDTO task(String topic, byte statusId, LocalDateTime startTime) {
+        return new CreateTaskDTO(topic, null, statusId, null, startTime, null, false, null);
+    }
+
+    // Nine in the morning, the given number of days after DAY
+    private static LocalDateTime at(int days) {
+        return DAY.plusDays(days).atTime(9, 0);
+    }
+
+    // Counts the writes drove to zero are left in place; the rebuild drops them
+    private List<String> summaryRows() {
+        return jdbcTemplate.queryForList("SELECT CONCAT(day, ' ', statusId, ' ', taskCount) FROM task_day_summary "
+                + "WHERE userId = ? AND taskCount <> 0 ORDER BY day, statusId", String.class, userId);
+    }
+}
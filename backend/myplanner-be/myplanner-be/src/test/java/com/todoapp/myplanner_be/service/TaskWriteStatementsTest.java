@@ -0,0 +1,150 @@
+package com.todoapp.myplanner_be.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.todoapp.myplanner_be.dto.task.CreateTaskDTO;
+import com.todoapp.myplanner_be.dto.task.TaskPatchDTO;
+import com.todoapp.myplanner_be.dto.task.TaskResponseDTO;
+import com.todoapp.myplanner_be.dto.task.UpdateTaskDTO;
+import com.todoapp.myplanner_be.entity.TaskEntity;
+import com.todoapp.myplanner_be.support.MySqlIntegrationTest;
+import com.todoapp.myplanner_be.support.SqlStatementRecorder;
+
+/**
+ * Database work of single task writes. The conditional update and delete
+ * are compared with patchTask, which loads the task before writing it.
+ */
+class TaskWriteStatementsTest extends MySqlIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 6, 1, 9, 0);
+    private static final Pattern READS_TASK = Pattern.compile("\\bfrom task\\b", Pattern.CASE_INSENSITIVE);
+    // A join to any association, or a read of the status or owner rows
+    private static final Pattern READS_ASSOCIATIONS = Pattern.compile(
+            "\\bjoin\\s+(status|categoryList|user)\\b|\\bfrom\\s+(status|user)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskIntervalIndex taskIntervalIndex;
+
+    private Integer userId;
+    private List<Integer> taskIds;
+
+    @BeforeEach
+    void createUserWithTasks() {
+        userId = insertUser();
+        taskIds = insertTasks(userId, null, 2, START);
+    }
+
+    @Test
+    void createSendsNoSelects() {
+        sqlStatementRecorder.start();
+        TaskEntity task = taskService.createTask(new CreateTaskDTO("Created", null, (byte) 1, null,
+                START, START.plusMinutes(30), false, null), userId);
+        // Task ids come in blocks from id_generator, so only some creates allocate one
+        List<String> statements = sqlStatementRecorder.stop().stream()
+                .filter(sql -> !sql.contains("id_generator"))
+                .toList();
+
+        // The version bump, which returns the new version itself, the day count and the insert
+        assertEquals(3, statements.size(), statements.toString());
+        assertEquals(List.of(), SqlStatementRecorder.ofKind(statements, "select"));
+        assertEquals(task.getChangeVersion(),
+                jdbcTemplate.queryForObject("SELECT taskVersion FROM user WHERE userId = ?", Long.class, userId));
+    }
+
+    @Test
+    void updateWritesWithoutReadingTheTask() {
+        sqlStatementRecorder.start();
+        taskService.updateTask(update(taskIds.get(0), START.plusDays(1)), userId);
+        List<String> updateStatements = sqlStatementRecorder.stop();
+
+        sqlStatementRecorder.start();
+        taskService.patchTask(taskIds.get(1),
+                new TaskPatchDTO(null, "Renamed", null, null, null, null, null, null, null), userId);
+        List<String> patchStatements = sqlStatementRecorder.stop();
+
+        assertEquals(List.of(), taskReads(updateStatements));
+        assertTrue(taskReads(patchStatements).size() >= 1, patchStatements.toString());
+        assertEquals("Renamed",
+                jdbcTemplate.queryForObject("SELECT topic FROM task WHERE taskId = ?", String.class, taskIds.get(1)));
+        assertEquals("Updated",
+                jdbcTemplate.queryForObject("SELECT topic FROM task WHERE taskId = ?", String.class, taskIds.get(0)));
+    }
+
+    @Test
+    void updateReadsTheTaskBackOnlyForALoadedIntervalTree() {
+        taskIntervalIndex.findOverlapping(userId, START, START.plusHours(1));
+
+        LocalDateTime moved = START.plusDays(2);
+        sqlStatementRecorder.start();
+        taskService.updateTask(update(taskIds.get(0), moved), userId);
+        List<String> statements = sqlStatementRecorder.stop();
+
+        assertEquals(1, taskReads(statements).size(), statements.toString());
+        // The tree took the update in place rather than being reloaded
+        sqlStatementRecorder.start();
+        List<TaskResponseDTO> overlapping = taskIntervalIndex.findOverlapping(userId, moved, moved);
+        assertEquals(List.of(), taskReads(sqlStatementRecorder.stop()));
+        assertEquals(List.of(taskIds.get(0)), overlapping.stream().map(TaskResponseDTO::getTaskId).toList());
+    }
+
+    @Test
+    void deleteWritesWithoutReadingTheTask() {
+        sqlStatementRecorder.start();
+        taskService.deleteTask(taskIds.get(0), userId);
+        List<String> statements = sqlStatementRecorder.stop();
+
+        assertEquals(List.of(), taskReads(statements));
+        assertEquals(Boolean.TRUE,
+                jdbcTemplate.queryForObject("SELECT deleted FROM task WHERE taskId = ?", Boolean.class, taskIds.get(0)));
+    }
+
+    @Test
+    void updateAndDeleteLoadNoStatusCategoryOrUserRows() {
+        Integer categoryId = insertCategory(userId);
+        UpdateTaskDTO update = new UpdateTaskDTO(taskIds.get(0), "Updated", null, (byte) 2, categoryId,
+                START.plusDays(1), START.plusDays(1).plusMinutes(30), false, null);
+
+        sqlStatementRecorder.start();
+        taskService.updateTask(update, userId);
+        List<String> updateStatements = sqlStatementRecorder.stop();
+
+        sqlStatementRecorder.start();
+        taskService.deleteTask(taskIds.get(1), userId);
+        List<String> deleteStatements = sqlStatementRecorder.stop();
+
+        // The category ownership check still reads categoryList, but joins nothing
+        assertEquals(List.of(), associationReads(updateStatements));
+        assertEquals(List.of(), associationReads(deleteStatements));
+        assertEquals(categoryId,
+                jdbcTemplate.queryForObject("SELECT categoryId FROM task WHERE taskId = ?", Integer.class, taskIds.get(0)));
+    }
+
+    private static UpdateTaskDTO update(Integer taskId, LocalDateTime startTime) {
+        return new UpdateTaskDTO(taskId, "Updated", null, (byte) 1, null, startTime, startTime.plusMinutes(30),
+                false, null);
+    }
+
+    private static List<String> taskReads(List<String> statements) {
+        return SqlStatementRecorder.ofKind(statements, "select").stream()
+                .filter(sql -> READS_TASK.matcher(sql).find())
+                .toList();
+    }
+
+    private static List<String> associationReads(List<String> statements) {
+        return statements.stream()
+                .filter(sql -> READS_ASSOCIATIONS.matcher(sql).find())
+                .toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.todoapp.myplanner_be.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base of tests that run the application against the shared MySQL
+ * container. Every test creates its own user, so tests do not see each
+ * other's rows. All of them share one application context, with the
+ * SqlStatementRecorder in place for counting statements.
+ */
+@SpringBootTest
+@Import(SqlStatementRecorder.class)
+public abstract class MySqlIntegrationTest {
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected SqlStatementRecorder sqlStatementRecorder;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        MySqlTestDatabase.properties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    protected Integer insertUser() {
+        return insertUser(jdbcTemplate);
+    }
+
+    protected Integer insertCategory(Integer userId) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO categoryList (categoryName, userId) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, "Work");
+            statement.setInt(2, userId);
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+
+    /**
+     * Inserts count half-hour tasks a minute apart from start, in one JDBC
+     * batch, and returns their ids in start time order.
+     */
+    protected List<Integer> insertTasks(Integer userId, Integer categoryId, int count, LocalDateTime start) {
+        int firstId = reserveTaskIds(jdbcTemplate, count);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> taskIds = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime startTime = start.plusMinutes(i);
+            taskIds.add(firstId + i);
+            rows.add(new Object[] { firstId + i, "Task " + i, "Imported for a test", categoryId, now,
+                    Timestamp.valueOf(startTime), Timestamp.valueOf(startTime.plusMinutes(30)), now, userId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task (taskId, topic, description, statusId, categoryId, createTime, "
+                + "startTime, endTime, isRemainder, lastUpdateTime, userId) VALUES (?, ?, ?, 1, ?, ?, ?, ?, FALSE, ?, ?)", rows);
+        return taskIds;
+    }
+
+    public static Integer insertUser(JdbcTemplate jdbcTemplate) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO user (name, email, password) VALUES (?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, "Test user");
+            statement.setString(2, UUID.randomUUID().toString().substring(0, 30) + "@test");
+            statement.setString(3, "unused");
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+
+    /**
+     * Takes count task ids from the id_generator row the application
+     * allocates from, for tests that insert tasks with plain JDBC. A block
+     * of the generator's allocation size is skipped on either side, so the
+     * ids stay clear of whatever the pooled optimizer hands out around them.
+     */
+    public static int reserveTaskIds(JdbcTemplate jdbcTemplate, int count) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            // LAST_INSERT_ID is per connection, so both statements run on this one
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE id_generator SET nextValue = LAST_INSERT_ID(nextValue) + "
+                        + (count + 200) + " WHERE name = 'task'");
+                try (ResultSet resultSet = statement.executeQuery("SELECT LAST_INSERT_ID()")) {
+                    resultSet.next();
+                    return resultSet.getInt(1) + 100;
+                }
+            }
+        });
+    }
+}
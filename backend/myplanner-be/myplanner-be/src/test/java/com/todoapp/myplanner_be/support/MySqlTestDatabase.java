@@ -0,0 +1,48 @@
+package com.todoapp.myplanner_be.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.testcontainers.mysql.MySQLContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * One MySQL container shared by every test in the JVM, created from
+ * backend/dbscript.sql. Tests extend MySqlIntegrationTest, or pass
+ * properties() to the applications they start themselves.
+ *
+ * The script creates the myplanner schema itself, so the container keeps
+ * its own default database and the application connects as root.
+ */
+public final class MySqlTestDatabase {
+
+    private static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4")
+            .withUsername("root")
+            .withCopyFileToContainer(MountableFile.forHostPath("../../dbscript.sql"),
+                    "/docker-entrypoint-initdb.d/dbscript.sql");
+
+    static {
+        MYSQL.start();
+    }
+
+    private MySqlTestDatabase() {
+    }
+
+    /**
+     * Settings that point the application at the container; tests do not
+     * depend on a local application.properties.
+     */
+    public static Map<String, Object> properties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:mysql://" + MYSQL.getHost() + ":" + MYSQL.getMappedPort(3306)
+                + "/myplanner?rewriteBatchedStatements=true");
+        properties.put("spring.datasource.username", MYSQL.getUsername());
+        properties.put("spring.datasource.password", MYSQL.getPassword());
+        properties.put("spring.jpa.hibernate.ddl-auto", "none");
+        properties.put("spring.jpa.hibernate.naming.physical-strategy",
+                "org.hibernate.boot.model.naming.PhysicalNamingStrategyStandardImpl");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        properties.put("spring.devtools.restart.enabled", "false");
+        return properties;
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.myplanner_be.support;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Records the SQL statements the application sends to the database, for
+ * tests that count round trips. Wraps the DataSource bean; between start()
+ * and stop() every execute call made on the calling thread is recorded,
+ * a JDBC batch counting once.
+ */
+public class SqlStatementRecorder implements BeanPostProcessor {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    public void start() {
+        recording.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording and returns the statements sent since start().
+     */
+    public List<String> stop() {
+        List<String> statements = recording.get();
+        recording.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    /**
+     * The statements that start with the given SQL keyword, e.g. "select".
+     */
+    public static List<String> ofKind(List<String> statements, String keyword) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                .toList();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(DataSource.class, dataSource, null);
+        }
+        return bean;
+    }
+
+    // Wraps a DataSource, Connection or Statement; sql is the text a PreparedStatement was created with
+    private Object wrap(Class<?> type, Object target, String sql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            String argument = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                record(argument != null ? argument : sql);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            Class<?> returned = method.getReturnType();
+            if (result != null && (returned == Connection.class || Statement.class.isAssignableFrom(returned))) {
+                return wrap(returned, result, argument);
+            }
+            return result;
+        });
+    }
+
+    private void record(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+}
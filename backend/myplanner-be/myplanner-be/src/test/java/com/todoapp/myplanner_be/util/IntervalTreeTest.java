@@ -0,0 +1,157 @@
+package com.todoapp.myplanner_be.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsIntervalsTouchingTheQueryAtEitherEnd() {
+        IntervalTree<String> tree = IntervalTree.of(List.of(1L, 2L, 3L), List.of(0L, 10L, 21L),
+                List.of(10L, 20L, 30L), List.of("a", "b", "c"));
+
+        assertEquals(List.of("a", "b"), tree.overlapping(10, 10));
+        assertEquals(List.of("b"), tree.overlapping(11, 20));
+        assertEquals(List.of(), tree.overlapping(31, 40));
+        assertEquals(List.of("a", "b", "c"), tree.overlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void ordersResultsByStartThenId() {
+        IntervalTree<Long> tree = IntervalTree.<Long>empty()
+                .with(7, 5, 9, 7L)
+                .with(3, 5, 6, 3L)
+                .with(9, 1, 100, 9L);
+
+        assertEquals(List.of(9L, 3L, 7L), tree.overlapping(5, 5));
+    }
+
+    @Test
+    void withReplacesAnIdsInterval() {
+        IntervalTree<String> tree = IntervalTree.<String>empty()
+                .with(1, 0, 10, "old")
+                .with(1, 50, 60, "new");
+
+        assertEquals(1, tree.size());
+        assertEquals(List.of(), tree.overlapping(0, 10));
+        assertEquals(List.of("new"), tree.overlapping(55, 55));
+    }
+
+    @Test
+    void withoutAnUnknownIdReturnsTheSameTree() {
+        IntervalTree<String> tree = IntervalTree.<String>empty().with(1, 0, 10, "a");
+
+        assertSame(tree, tree.without(2));
+        assertEquals(0, tree.without(1).size());
+    }
+
+    @Test
+    void rejectsIntervalsThatEndBeforeTheyStart() {
+        assertThrows(IllegalArgumentException.class, () -> IntervalTree.<String>empty().with(1, 10, 9, "a"));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntervalTree.of(List.of(1L), List.of(10L), List.of(9L), List.of("a")));
+    }
+
+    @Test
+    void matchesABruteForceScanUnderRandomUpdates() {
+        Random random = new Random(17);
+        IntervalTree<Long> tree = IntervalTree.empty();
+        // id -> [start, end]
+        Map<Long, long[]> expected = new TreeMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                tree = tree.without(id);
+                expected.remove(id);
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + random.nextInt(random.nextBoolean() ? 50 : 2_000);
+                tree = tree.with(id, start, end, id);
+                expected.put(id, new long[]{start, end});
+            }
+
+            long from = random.nextInt(10_500) - 250;
+            long to = from + random.nextInt(random.nextBoolean() ? 1 : 1_000);
+            assertEquals(scan(expected, from, to), tree.overlapping(from, to), "step " + step + " [" + from + ", " + to + "]");
+            assertEquals(expected.size(), tree.size());
+        }
+
+        // A tree built in one go agrees with the one built by updates
+        List<Long> ids = new ArrayList<>(expected.keySet());
+        IntervalTree<Long> built = IntervalTree.of(ids,
+                ids.stream().map(id -> expected.get(id)[0]).toList(),
+                ids.stream().map(id -> expected.get(id)[1]).toList(),
+                ids);
+        for (long from = -100; from < 10_100; from += 37) {
+            assertEquals(tree.overlapping(from, from + 60), built.overlapping(from, from + 60));
+        }
+    }
+
+    @Test
+    void withUpdatesKeepsTheLastUpdatePerId() {
+        IntervalTree<String> tree = IntervalTree.<String>empty()
+                .with(1, 0, 10, "a")
+                .with(2, 20, 30, "b");
+
+        IntervalTree<String> updated = tree.withUpdates(List.of(
+                IntervalTree.Update.put(1, 40, 50, "moved"),
+                IntervalTree.Update.remove(1),
+                IntervalTree.Update.remove(2),
+                IntervalTree.Update.put(2, 5, 6, "back"),
+                IntervalTree.Update.put(3, 0, 100, "c")));
+
+        assertEquals(List.of("c", "back"), updated.overlapping(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertSame(tree, tree.withUpdates(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> IntervalTree.Update.put(1, 10, 9, "a"));
+    }
+
+    @Test
+    void withUpdatesMatchesTheSameUpdatesAppliedOneByOne() {
+        Random random = new Random(23);
+        IntervalTree<Long> bulk = IntervalTree.empty();
+        IntervalTree<Long> single = IntervalTree.empty();
+
+        for (int round = 0; round < 300; round++) {
+            List<IntervalTree.Update<Long>> updates = new ArrayList<>();
+            for (int k = random.nextInt(25); k >= 0; k--) {
+                long id = random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    updates.add(IntervalTree.Update.remove(id));
+                    single = single.without(id);
+                } else {
+                    long start = random.nextInt(5_000);
+                    long end = start + random.nextInt(random.nextBoolean() ? 20 : 800);
+                    updates.add(IntervalTree.Update.put(id, start, end, id));
+                    single = single.with(id, start, end, id);
+                }
+            }
+            bulk = bulk.withUpdates(updates);
+
+            assertEquals(single.size(), bulk.size());
+            for (long from = -50; from < 5_900; from += 97) {
+                assertEquals(single.overlapping(from, from + 120), bulk.overlapping(from, from + 120), "round " + round);
+            }
+        }
+    }
+
+    // Ids whose interval overlaps [from, to], in (start, id) order
+    private static List<Long> scan(Map<Long, long[]> intervals, long from, long to) {
+        return intervals.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] <= to && entry.getValue()[1] >= from)
+                .sorted(Comparator.<Map.Entry<Long, long[]>>comparingLong(entry -> entry.getValue()[0])
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
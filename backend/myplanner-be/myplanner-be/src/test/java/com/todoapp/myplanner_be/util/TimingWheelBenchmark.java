@@ -0,0 +1,107 @@
+package com.todoapp.myplanner_be.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Scheduling cost of the reminder timing wheel with 1M pending reminders,
+ * next to a binary heap for reference. Uses the scheduler's dimensions:
+ * 10 ms ticks, 64 slots, 4 levels and a 6 hour horizon.
+ *
+ * Run with: mvn test -Dtest=TimingWheelBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TimingWheelBenchmark {
+
+    private static final int PENDING = 1_000_000;
+    private static final int OPERATIONS = 1_000_000;
+    private static final long TICK_MS = 10;
+    private static final long HORIZON_MS = 6 * 60 * 60 * 1000L;
+    private static final int ROUNDS = 5;
+    // A heap cancel is a linear search, so it is only sampled
+    private static final int HEAP_CANCELS = 1_000;
+
+    private record Entry(int key, long deadline) {
+    }
+
+    @Test
+    void schedulingCostWithOneMillionPendingReminders() {
+        long[] deadlines = new Random(7).longs(PENDING + OPERATIONS, 1, HORIZON_MS).toArray();
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            TimingWheel<Integer> wheel = new TimingWheel<>(TICK_MS, 64, 4, 0);
+            for (int key = 0; key < PENDING; key++) {
+                wheel.schedule(key, deadlines[key]);
+            }
+
+            // Inserts of new keys, reschedules of pending ones and cancels, all against 1M entries
+            double insert = nanosPerOp(() -> {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    wheel.schedule(PENDING + i, deadlines[PENDING + i]);
+                }
+                return wheel.size();
+            });
+            double reschedule = nanosPerOp(() -> {
+                for (int key = 0; key < OPERATIONS; key++) {
+                    wheel.schedule(key, deadlines[PENDING + key]);
+                }
+                return wheel.size();
+            });
+            double cancel = nanosPerOp(() -> {
+                for (int key = PENDING; key < PENDING + OPERATIONS; key++) {
+                    wheel.cancel(key);
+                }
+                return wheel.size();
+            });
+            assertEquals(PENDING, wheel.size());
+
+            // Firing every pending reminder, one tick at a time across the whole horizon
+            long[] fired = new long[1];
+            long advanceStart = System.nanoTime();
+            for (long now = TICK_MS; now <= HORIZON_MS + TICK_MS; now += TICK_MS) {
+                wheel.advance(now, key -> fired[0]++);
+            }
+            double advance = (System.nanoTime() - advanceStart) / (double) PENDING;
+            assertEquals(PENDING, fired[0]);
+
+            double[] heap = heapNanos(deadlines);
+
+            System.out.printf("round %d: wheel insert %.0f ns, reschedule %.0f ns, cancel %.0f ns, "
+                    + "fire %.0f ns/reminder incl. %d ticks; heap insert %.0f ns, cancel %.0f ns%n",
+                    round, insert, reschedule, cancel, advance, HORIZON_MS / TICK_MS, heap[0], heap[1]);
+        }
+    }
+
+    private static double[] heapNanos(long[] deadlines) {
+        PriorityQueue<Entry> heap = new PriorityQueue<>(PENDING + OPERATIONS, Comparator.comparingLong(Entry::deadline));
+        for (int key = 0; key < PENDING; key++) {
+            heap.add(new Entry(key, deadlines[key]));
+        }
+        double insert = nanosPerOp(() -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                heap.add(new Entry(PENDING + i, deadlines[PENDING + i]));
+            }
+            return heap.size();
+        });
+
+        long start = System.nanoTime();
+        for (int key = 0; key < HEAP_CANCELS; key++) {
+            heap.remove(new Entry(key, deadlines[key]));
+        }
+        double cancel = (System.nanoTime() - start) / (double) HEAP_CANCELS;
+        return new double[] { insert, cancel };
+    }
+
+    private static double nanosPerOp(LongSupplier operations) {
+        long start = System.nanoTime();
+        operations.getAsLong();
+        return (System.nanoTime() - start) / (double) OPERATIONS;
+    }
+}
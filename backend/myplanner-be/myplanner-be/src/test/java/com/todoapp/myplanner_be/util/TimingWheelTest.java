@@ -0,0 +1,197 @@
+package com.todoapp.myplanner_be.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, 1_000);
+        wheel.schedule("a", 1_001);
+        wheel.schedule("b", 1_010);
+        wheel.schedule("c", 1_011);
+
+        assertEquals(List.of(), advance(wheel, 1_009));
+        assertEquals(Set.of("a", "b"), new HashSet<>(advance(wheel, 1_010)));
+        assertEquals(List.of(), advance(wheel, 1_019));
+        assertEquals(List.of("c"), advance(wheel, 1_020));
+    }
+
+    @Test
+    void neverFiresEarlyNorMoreThanOneTickLate() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, 3, 0);
+        for (int deadline = 1; deadline < 5_000; deadline += 7) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long now = 1; now <= 5_200; now++) {
+            for (Integer deadline : advance(wheel, now)) {
+                assertTrue(now >= deadline, "fired early: " + deadline + " at " + now);
+                assertTrue(now < deadline + 10, "fired late: " + deadline + " at " + now);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesAtEveryCascadeBoundary() {
+        // Levels span 1, 4 and 16 ms slots, so 4, 16 and 64 ms delays sit on level edges
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, 3, 0);
+        assertEquals(64, wheel.getCapacityMs());
+        long[] deadlines = { 1, 3, 4, 5, 15, 16, 17, 31, 32, 33, 47, 48, 63 };
+        for (long deadline : deadlines) {
+            assertTrue(wheel.schedule(deadline, deadline));
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 70; now++) {
+            long tick = now;
+            wheel.advance(now, key -> firedAt.put(key, tick));
+        }
+        for (long deadline : deadlines) {
+            assertEquals(deadline, firedAt.get(deadline), "deadline " + deadline);
+        }
+    }
+
+    @Test
+    void cascadesFromAnUnalignedStart() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, 3, 13);
+        for (long deadline = 14; deadline < 13 + 64; deadline++) {
+            assertTrue(wheel.schedule(deadline, deadline));
+        }
+
+        for (long now = 14; now < 13 + 64; now++) {
+            assertEquals(List.of(now), advance(wheel, now));
+        }
+    }
+
+    @Test
+    void rejectsDeadlinesBeyondCapacity() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4, 2, 0);
+
+        assertTrue(wheel.schedule("edge", 15));
+        assertFalse(wheel.schedule("beyond", 17));
+        assertFalse(wheel.contains("beyond"));
+
+        // Rescheduling beyond capacity drops the old entry as well
+        assertFalse(wheel.schedule("edge", 100));
+        assertFalse(wheel.contains("edge"));
+    }
+
+    @Test
+    void firesPastDeadlinesOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, 1_000);
+        wheel.schedule("late", 500);
+
+        // Even without time moving forward
+        assertEquals(List.of("late"), advance(wheel, 1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledEntriesDoNotFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, 0);
+        wheel.schedule("kept", 50);
+        wheel.schedule("cancelled", 50);
+        wheel.schedule("overdue", -10);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertTrue(wheel.cancel("overdue"));
+        assertFalse(wheel.cancel("cancelled"));
+
+        assertEquals(List.of("kept"), advance(wheel, 100));
+    }
+
+    @Test
+    void reschedulingMovesTheEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, 0);
+        wheel.schedule("task", 500);
+        wheel.schedule("task", 30);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("task"), advance(wheel, 30));
+        assertEquals(List.of(), advance(wheel, 600));
+    }
+
+    @Test
+    void skipsIdleTicksWhenEmpty() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2, 0);
+        wheel.advance(1_000_000_005L, key -> { });
+
+        // Delays are measured from the skipped-to tick, not from the start
+        assertTrue(wheel.schedule("soon", 1_000_000_020L));
+        assertEquals(List.of(), advance(wheel, 1_000_000_019L));
+        assertEquals(List.of("soon"), advance(wheel, 1_000_000_020L));
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, 8, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(10, 1, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(10, 8, 0, 0));
+    }
+
+    @Test
+    void matchesABruteForceScheduleUnderRandomOperations() {
+        Random random = new Random(42);
+        long tick = 5;
+        TimingWheel<Integer> wheel = new TimingWheel<>(tick, 16, 3, 0);
+        long capacity = wheel.getCapacityMs();
+        // Key -> deadline rounded up to the tick, as the wheel fires it
+        Map<Integer, Long> expected = new HashMap<>();
+        long now = 0;
+
+        for (int step = 0; step < 20_000; step++) {
+            int key = random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    long deadline = now - 50 + (long) (random.nextDouble() * (capacity * 1.1));
+                    long rounded = Math.floorDiv(deadline + tick - 1, tick) * tick;
+                    // Capacity is counted from the wheel's current tick
+                    long current = Math.floorDiv(now, tick) * tick;
+                    boolean fits = rounded - current < capacity;
+                    assertEquals(fits, wheel.schedule(key, deadline), "schedule " + key + " at " + deadline);
+                    if (fits) {
+                        expected.put(key, rounded);
+                    } else {
+                        expected.remove(key);
+                    }
+                }
+                case 2 -> assertEquals(expected.remove(key) != null, wheel.cancel(key));
+                default -> {
+                    now += random.nextInt((int) tick * 40);
+                    Set<Integer> due = new HashSet<>();
+                    for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+                        if (entry.getValue() <= now) {
+                            due.add(entry.getKey());
+                        }
+                    }
+                    List<Integer> fired = advance(wheel, now);
+                    assertEquals(due, new HashSet<>(fired), "advance to " + now);
+                    assertEquals(due.size(), fired.size(), "duplicate firing at " + now);
+                    expected.keySet().removeAll(due);
+                }
+            }
+            assertEquals(expected.size(), wheel.size());
+        }
+    }
+
+    private static <K> List<K> advance(TimingWheel<K> wheel, long now) {
+        List<K> fired = new ArrayList<>();
+        wheel.advance(now, fired::add);
+        return fired;
+    }
+}
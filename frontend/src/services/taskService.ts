@@ -1,12 +1,13 @@
 import api from './api';
-import type { ApiResponse, Task, TaskCreate, TaskUpdate } from '@/types';
+import type { ApiResponse, Task, TaskBatchOperation, TaskBatchResult, TaskCreate, TaskPage, TaskPatch, TaskUpdate } from '@/types';
 
 const taskService = {
-    getTasks: (startDate?: string, endDate?: string) => {
+    getTasks: (startDate?: string, endDate?: string, cursor?: string) => {
         const params: Record<string, string> = {};
         if (startDate) params.startDate = startDate;
         if (endDate) params.endDate = endDate;
-        return api.get<ApiResponse<Task[]>>('/task/get', { params });
+        if (cursor) params.cursor = cursor;
+        return api.get<ApiResponse<TaskPage>>('/task/get', { params });
     },
 
     createTask: (payload: TaskCreate) =>
@@ -15,8 +16,14 @@ const taskService = {
     updateTask: (payload: TaskUpdate) =>
         api.put<ApiResponse<object>>('/task/update', payload),
 
+    patchTask: (taskId: number, patch: TaskPatch) =>
+        api.patch<ApiResponse<Task>>(`/task/${taskId}`, patch),
+
     deleteTask: (taskId: number) =>
         api.delete<ApiResponse<object>>(`/task/delete/${taskId}`),
+
+    applyBatch: (operations: TaskBatchOperation[]) =>
+        api.post<ApiResponse<TaskBatchResult[]>>('/task/batch', operations),
 };
 
 export default taskService;
@@ -39,10 +39,14 @@ class WebSocketService {
             // Subscribe to user-specific notification queue
             this.client?.subscribe(`/queue/user/${userId}/notifications`, (message) => {
                 try {
-                    const notification: TaskNotification = JSON.parse(message.body);
+                    // Pending reminders arrive batched as one list per frame
+                    const payload: TaskNotification | TaskNotification[] = JSON.parse(message.body);
+                    const notifications = Array.isArray(payload) ? payload : [payload];
 
                     // Notify all registered callbacks
-                    this.callbacks.forEach((callback) => callback(notification));
+                    notifications.forEach((notification) =>
+                        this.callbacks.forEach((callback) => callback(notification))
+                    );
                 } catch (error) {
                     console.error('Error parsing notification:', error);
                 }
@@ -21,8 +21,15 @@ export const fetchTasks = createAsyncThunk(
         { rejectWithValue }
     ) => {
         try {
-            const response = await taskService.getTasks(startDate, endDate);
-            return response.data.data;
+            // Follow the cursor until the last page
+            const tasks: Task[] = [];
+            let cursor: string | undefined;
+            do {
+                const response = await taskService.getTasks(startDate, endDate, cursor);
+                tasks.push(...response.data.data.tasks);
+                cursor = response.data.data.nextCursor ?? undefined;
+            } while (cursor);
+            return tasks;
         } catch (error: unknown) {
             const err = error as { response?: { data?: { message?: string } } };
             return rejectWithValue(err.response?.data?.message || 'Failed to fetch tasks');
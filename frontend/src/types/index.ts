@@ -69,6 +69,12 @@ export interface Task {
     isRemainder: boolean | null;
     remainderTime: string | null;
     lastUpdateTime: string;
+    version: number;
+}
+
+export interface TaskPage {
+    tasks: Task[];
+    nextCursor: string | null;
 }
 
 export interface TaskCreate {
@@ -94,6 +100,31 @@ export interface TaskUpdate {
     remainderTime?: string | null;
 }
 
+export interface TaskPatch {
+    version?: number;
+    topic?: string;
+    description?: string | null;
+    statusId?: number;
+    categoryId?: number | null;
+    startTime?: string | null;
+    endTime?: string | null;
+    isRemainder?: boolean;
+    remainderTime?: string | null;
+}
+
+export interface TaskBatchOperation {
+    op: 'create' | 'update' | 'delete';
+    taskId?: number;
+    task?: TaskCreate;
+}
+
+export interface TaskBatchResult {
+    index: number;
+    taskId: number | null;
+    success: boolean;
+    error: string | null;
+}
+
 // ============================================================
 // Category Types
 // ============================================================